@@ -0,0 +1,168 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.validation.BookingMapper;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class BaseClientBenchmark {
+    @Param({"10", "1000"})
+    private int bookings;
+
+    private BookingsClient bookingsClient;
+    private RestTemplate restTemplate;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        User owner = BenchmarkData.user(1L);
+        List<Item> items = BenchmarkData.items(100, owner);
+        byte[] body = objectMapper.writeValueAsBytes(BookingMapper.bookingsToBookingResponseDtoList(
+                BenchmarkData.bookings(bookings, items, BenchmarkData.user(2L))));
+
+        restTemplate = new RestTemplate(new CannedResponseFactory(body));
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/bookings"));
+        bookingsClient = new BookingsClient(WebClient.builder()
+                .baseUrl("http://localhost:9090/bookings")
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                        .build()))
+                .build());
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> passThrough() {
+        return bookingsClient.getAllUserBookings(1L).block();
+    }
+
+    @Benchmark
+    public byte[] objectRoundTrip() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", "1");
+        ResponseEntity<Object> response = restTemplate.exchange("?state=ALL", HttpMethod.GET,
+                new HttpEntity<>(headers), Object.class);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    private static final class BookingsClient extends BaseClient {
+        private BookingsClient(WebClient webClient) {
+            super(webClient);
+        }
+
+        private Mono<ResponseEntity<Object>> getAllUserBookings(Long userId) {
+            return get("?state=ALL", userId);
+        }
+    }
+
+    private static final class CannedResponseFactory implements ClientHttpRequestFactory {
+        private final byte[] body;
+
+        private CannedResponseFactory(byte[] body) {
+            this.body = body;
+        }
+
+        @Override
+        public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+            return new ClientHttpRequest() {
+                private final HttpHeaders headers = new HttpHeaders();
+                private final ByteArrayOutputStream requestBody = new ByteArrayOutputStream();
+
+                @Override
+                public ClientHttpResponse execute() {
+                    return new CannedResponse(body);
+                }
+
+                @Override
+                public OutputStream getBody() {
+                    return requestBody;
+                }
+
+                @Override
+                public String getMethodValue() {
+                    return httpMethod.name();
+                }
+
+                @Override
+                public URI getURI() {
+                    return uri;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+            };
+        }
+    }
+
+    private static final class CannedResponse implements ClientHttpResponse {
+        private final byte[] body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private CannedResponse(byte[] body) {
+            this.body = body;
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentPreviewDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.RequestItem;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public final class BenchmarkData {
+    public static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    public static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("Пользователь " + id)
+                .email("user" + id + "@yandex.ru")
+                .build();
+    }
+
+    public static List<Item> items(int count, User owner) {
+        List<Item> items = new ArrayList<>(count);
+
+        for (long id = 1; id <= count; id++) {
+            items.add(Item.builder()
+                    .id(id)
+                    .name("Вещь " + id)
+                    .description("Описание вещи номер " + id)
+                    .available(id % 10 != 0)
+                    .owner(owner)
+                    .build());
+        }
+
+        return items;
+    }
+
+    public static List<Booking> bookings(int count, List<Item> items, User booker) {
+        Random random = new Random(SEED);
+        List<Booking> bookings = new ArrayList<>(count);
+
+        for (long id = 1; id <= count; id++) {
+            LocalDateTime start = NOW.plusHours(random.nextInt(24 * 365 * 2) - 24 * 365);
+            bookings.add(Booking.builder()
+                    .id(id)
+                    .startDate(start)
+                    .endDate(start.plusHours(1 + random.nextInt(72)))
+                    .item(items.get(random.nextInt(items.size())))
+                    .booker(booker)
+                    .status(BookingStatus.values()[random.nextInt(BookingStatus.values().length)])
+                    .build());
+        }
+
+        return bookings;
+    }
+
+    public static List<Comment> comments(int count, List<Item> items, User author) {
+        Random random = new Random(SEED);
+        List<Comment> comments = new ArrayList<>(count);
+
+        for (long id = 1; id <= count; id++) {
+            comments.add(Comment.builder()
+                    .id(id)
+                    .text("Отзыв номер " + id)
+                    .item(items.get(random.nextInt(items.size())))
+                    .author(author)
+                    .created(NOW.minusMinutes(id))
+                    .build());
+        }
+
+        return comments;
+    }
+
+    public static List<CommentPreviewDto> commentPreviews(int count, List<Item> items, User author) {
+        List<CommentPreviewDto> previews = new ArrayList<>(count);
+
+        for (Comment comment : comments(count, items, author)) {
+            previews.add(new CommentPreviewDto(comment.getItem().getId(), comment.getId(), comment.getText(),
+                    author.getName(), comment.getCreated()));
+        }
+
+        return previews;
+    }
+
+    public static List<RequestItem> requests(int count, int itemsPerRequest, User requestor) {
+        List<RequestItem> requests = new ArrayList<>(count);
+
+        for (long id = 1; id <= count; id++) {
+            RequestItem request = RequestItem.builder()
+                    .id(id)
+                    .description("Запрос номер " + id)
+                    .requestor(requestor)
+                    .created(NOW.minusHours(id))
+                    .build();
+            List<Item> items = items(itemsPerRequest, requestor);
+            items.forEach(item -> item.setRequest(request));
+            request.setItems(items);
+            requests.add(request);
+        }
+
+        return requests;
+    }
+}
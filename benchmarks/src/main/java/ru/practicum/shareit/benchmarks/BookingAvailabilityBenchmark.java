@@ -0,0 +1,94 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class BookingAvailabilityBenchmark {
+    @Param({"1000"})
+    private int items;
+    @Param({"100000"})
+    private int bookings;
+
+    private BookingAvailabilityIndex availabilityIndex;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        User owner = BenchmarkData.user(1L);
+        List<Item> indexedItems = BenchmarkData.items(items, owner);
+        List<BookingInterval> intervals = BenchmarkData.bookings(bookings, indexedItems, BenchmarkData.user(2L))
+                .stream()
+                .filter(booking -> !BookingAvailabilityIndex.RELEASED_STATUSES.contains(booking.getStatus()))
+                .map(BookingAvailabilityBenchmark::toInterval)
+                .collect(Collectors.toList());
+
+        availabilityIndex = new BookingAvailabilityIndex(RepositoryStubs.stub(BookingRepository.class,
+                Map.of("findAllIntervalsByStatusNotIn", intervals)));
+        availabilityIndex.warmUp();
+        random = new Random(42L);
+    }
+
+    @Benchmark
+    public boolean isAvailable() {
+        LocalDateTime start = BenchmarkData.NOW.plusHours(random.nextInt(24 * 365 * 2) - 24 * 365);
+        return availabilityIndex.isAvailable(1L + random.nextInt(items), start, start.plusHours(24));
+    }
+
+    @Benchmark
+    public boolean reserveAndRelease() {
+        LocalDateTime start = BenchmarkData.NOW.plusYears(2).plusHours(random.nextInt(24 * 365));
+        Booking booking = Booking.builder()
+                .id(-1L)
+                .item(Item.builder().id(1L + random.nextInt(items)).build())
+                .startDate(start)
+                .endDate(start.plusHours(24))
+                .status(BookingStatus.WAITING)
+                .build();
+        boolean reserved = availabilityIndex.tryReserve(booking);
+        availabilityIndex.release(booking);
+        return reserved;
+    }
+
+    private static BookingInterval toInterval(Booking booking) {
+        return new BookingInterval() {
+            @Override
+            public Long getId() {
+                return booking.getId();
+            }
+
+            @Override
+            public Long getItemId() {
+                return booking.getItem().getId();
+            }
+
+            @Override
+            public LocalDateTime getStartDate() {
+                return booking.getStartDate();
+            }
+
+            @Override
+            public LocalDateTime getEndDate() {
+                return booking.getEndDate();
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class BookingOverlapQueryBenchmark {
+    private static final String OVERLAP_QUERY = "SELECT EXISTS (SELECT 1 " +
+            "FROM bookings AS b " +
+            "WHERE b.item_id = ? " +
+            "AND b.status NOT IN ('REJECTED', 'CANCELLED') " +
+            "AND b.start_date < ? " +
+            "AND b.end_date > ?)";
+
+    @Param({"1000"})
+    private int items;
+    @Param({"100000"})
+    private int bookings;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BulkInsertBenchmark.ServerContext.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--db.name=booking-overlap-benchmark",
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed();
+        random = new Random(42L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean isAvailable() {
+        LocalDateTime start = BenchmarkData.NOW.plusHours(random.nextInt(24 * 365 * 2) - 24 * 365);
+        return !jdbcTemplate.queryForObject(OVERLAP_QUERY, Boolean.class, 1L + random.nextInt(items),
+                Timestamp.valueOf(start.plusHours(24)), Timestamp.valueOf(start));
+    }
+
+    private void seed() {
+        User owner = BenchmarkData.user(1L);
+        User booker = BenchmarkData.user(2L);
+        List<Item> indexedItems = BenchmarkData.items(items, owner);
+
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", List.of(
+                new Object[]{owner.getId(), owner.getName(), owner.getEmail()},
+                new Object[]{booker.getId(), booker.getName(), booker.getEmail()}));
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, available, owner_id) " +
+                "VALUES (?, ?, ?, ?, ?)", indexedItems.stream()
+                .map(item -> new Object[]{item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                        owner.getId()})
+                .collect(Collectors.toList()));
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, start_date, end_date, booker_id, item_id, owner_id, " +
+                "status) VALUES (?, ?, ?, ?, ?, ?, ?)", BenchmarkData.bookings(bookings, indexedItems, booker).stream()
+                .map(BookingOverlapQueryBenchmark::toRow)
+                .collect(Collectors.toList()));
+    }
+
+    private static Object[] toRow(Booking booking) {
+        return new Object[]{booking.getId(), Timestamp.valueOf(booking.getStartDate()),
+                Timestamp.valueOf(booking.getEndDate()), booking.getBooker().getId(), booking.getItem().getId(),
+                booking.getItem().getOwner().getId(), booking.getStatus().name()};
+    }
+}
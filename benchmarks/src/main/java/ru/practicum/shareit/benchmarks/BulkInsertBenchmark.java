@@ -0,0 +1,120 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class BulkInsertBenchmark {
+    @Param({"1", "50"})
+    private int batchSize;
+    @Param({"500"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private ItemRepository itemRepository;
+    private BookingRepository bookingRepository;
+    private User owner;
+    private User booker;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ServerContext.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--db.name=bulk-insert-benchmark",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        owner = userRepository.save(User.builder().name("Дима").email("dima@yandex.ru").build());
+        booker = userRepository.save(User.builder().name("Фима").email("fima@yandex.ru").build());
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM items");
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @AutoConfigurationPackage(basePackageClasses = ShareItServer.class)
+    @ComponentScan(basePackageClasses = ShareItServer.class, excludeFilters = {
+            @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ShareItServer.class),
+            @ComponentScan.Filter(type = FilterType.REGEX, pattern = "ru\\.practicum\\.shareit\\.(client|benchmarks)\\..*")})
+    static class ServerContext {
+    }
+
+    @Benchmark
+    public void createItemsAndBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Item> items = new ArrayList<>(rows);
+        List<Booking> bookings = new ArrayList<>(rows);
+
+        for (int i = 0; i < rows; i++) {
+            Item item = Item.builder()
+                    .name("Вещь " + i)
+                    .description("Описание вещи " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build();
+            items.add(item);
+            bookings.add(Booking.builder()
+                    .startDate(start)
+                    .endDate(start.plusDays(1))
+                    .item(item)
+                    .booker(booker)
+                    .owner(owner)
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            itemRepository.saveAll(items);
+            bookingRepository.saveAll(bookings);
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingAvailabilityIndex;
+import ru.practicum.shareit.item.dto.CommentPreviewDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.repository.RequestItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ItemServiceBenchmark {
+    @Param({"1000"})
+    private int items;
+    @Param({"2000", "100000"})
+    private int bookings;
+    @Param({"10000"})
+    private int comments;
+
+    private ItemServiceImpl itemService;
+
+    @Setup
+    public void setUp() {
+        User owner = BenchmarkData.user(1L);
+        User booker = BenchmarkData.user(2L);
+        List<Item> ownerItems = BenchmarkData.items(items, owner);
+        List<Booking> itemBookings = BenchmarkData.bookings(bookings, ownerItems, booker);
+        List<CommentPreviewDto> itemComments = BenchmarkData.commentPreviews(comments, ownerItems, booker);
+
+        itemService = new ItemServiceImpl(
+                RepositoryStubs.stub(ItemRepository.class, Map.of("findAllByOwnerId", ownerItems)),
+                RepositoryStubs.stub(UserRepository.class, Collections.emptyMap()),
+                RepositoryStubs.stub(BookingRepository.class, Map.of("findLastAndNextBookingsByItemIdIn", itemBookings)),
+                RepositoryStubs.stub(CommentRepository.class, Map.of(
+                        "findLatestPreviewsByItemIdIn", itemComments)),
+                RepositoryStubs.stub(RequestItemRepository.class, Collections.emptyMap()),
+                RepositoryStubs.stub(ItemSearchEngine.class, Collections.emptyMap()),
+                new BookingAvailabilityIndex(RepositoryStubs.stub(BookingRepository.class, Collections.emptyMap())),
+                RepositoryStubs.stub(EntityManager.class, Collections.emptyMap()),
+                new TransactionTemplate());
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> getAllItemsByUserId() {
+        return itemService.getAllItemsByUserId(1L, 0, items);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.validation.BookingMapper;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.RequestItemResponseDto;
+import ru.practicum.shareit.request.mapper.RequestItemMapper;
+import ru.practicum.shareit.request.model.RequestItem;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class MapperBenchmark {
+    @Param({"100", "10000"})
+    private int size;
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<Comment> comments;
+    private List<RequestItem> requests;
+
+    @Setup
+    public void setUp() {
+        User owner = BenchmarkData.user(1L);
+        User booker = BenchmarkData.user(2L);
+        items = BenchmarkData.items(size, owner);
+        bookings = BenchmarkData.bookings(size, items, booker);
+        comments = BenchmarkData.comments(size, items, booker);
+        requests = BenchmarkData.requests(Math.max(1, size / 10), 10, booker);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> itemsToItemRequestDtoList() {
+        return ItemMapper.itemsToItemRequestDtoList(items);
+    }
+
+    @Benchmark
+    public List<ItemShortResponseDto> itemsToItemShortResponseDtoList() {
+        return ItemMapper.itemsToItemShortResponseDtoList(items);
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> itemsToItemResponseDtoList() {
+        return ItemMapper.itemsToItemResponseDtoList(items);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> bookingsToBookingResponseDtoList() {
+        return BookingMapper.bookingsToBookingResponseDtoList(bookings);
+    }
+
+    @Benchmark
+    public List<CommentResponseDto> commentsToCommentResponseDtoList() {
+        return CommentMapper.commentsToCommentResponseDtoList(comments);
+    }
+
+    @Benchmark
+    public List<RequestItemResponseDto> requestsToRequestItemResponseDtoList() {
+        return RequestItemMapper.requestsToRequestItemResponseDtoList(requests);
+    }
+}
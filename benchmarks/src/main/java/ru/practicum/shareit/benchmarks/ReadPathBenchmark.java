@@ -0,0 +1,123 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.GetBookingRequest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.RequestItemResponseDto;
+import ru.practicum.shareit.request.service.RequestItemService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ReadPathBenchmark {
+    private static final long OWNER_ID = 1L;
+    private static final long BOOKER_ID = 2L;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"20"})
+    private int items;
+    @Param({"10"})
+    private int bookingsPerItem;
+    @Param({"5"})
+    private int commentsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private RequestItemService requestItemService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BulkInsertBenchmark.ServerContext.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--db.name=read-path-benchmark",
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        requestItemService = context.getBean(RequestItemService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> getAllItemsByUserId() {
+        return itemService.getAllItemsByUserId(OWNER_ID, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getAllUserBookings() {
+        return bookingService.getAllUserBookings(
+                GetBookingRequest.of(ru.practicum.shareit.booking.status.State.ALL, BOOKER_ID, false),
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "startDate", "id")));
+    }
+
+    @Benchmark
+    public List<RequestItemResponseDto> getAllRequestsByUserId() {
+        return requestItemService.getAllRequestsByUserId(BOOKER_ID);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?), (?, ?, ?)",
+                OWNER_ID, "Дима", "dima@yandex.ru", BOOKER_ID, "Фима", "fima@yandex.ru");
+
+        List<Object[]> requests = new ArrayList<>();
+        List<Object[]> itemRows = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+
+        for (long item = 1; item <= items; item++) {
+            requests.add(new Object[]{item, "Нужна вещь " + item, BOOKER_ID, Timestamp.valueOf(now.minusDays(item))});
+            itemRows.add(new Object[]{item, "Вещь " + item, "Описание вещи " + item, true, OWNER_ID, item});
+
+            for (int i = 0; i < bookingsPerItem; i++) {
+                LocalDateTime start = now.plusDays(i - bookingsPerItem / 2);
+                bookings.add(new Object[]{item * bookingsPerItem + i, Timestamp.valueOf(start),
+                        Timestamp.valueOf(start.plusHours(1)), BOOKER_ID, item, OWNER_ID,
+                        BookingStatus.APPROVED.name()});
+            }
+
+            for (int i = 0; i < commentsPerItem; i++) {
+                comments.add(new Object[]{item * commentsPerItem + i, "Отзыв " + i, item, BOOKER_ID,
+                        Timestamp.valueOf(now.minusHours(i))});
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO item_request (id, description, requestor_id, creation_date) " +
+                "VALUES (?, ?, ?, ?)", requests);
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, available, owner_id, request_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", itemRows);
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, start_date, end_date, booker_id, item_id, owner_id, " +
+                "status) VALUES (?, ?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, text, item_id, author_id, created) " +
+                "VALUES (?, ?, ?, ?, ?)", comments);
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public final class RepositoryStubs {
+    private RepositoryStubs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (answers.containsKey(method.getName())) {
+                return answers.get(method.getName());
+            }
+
+            if (method.getReturnType() == Optional.class) {
+                return Optional.empty();
+            }
+
+            if (method.getReturnType() == List.class || method.getReturnType() == Iterable.class) {
+                return Collections.emptyList();
+            }
+
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+
+            return null;
+        });
+    }
+}
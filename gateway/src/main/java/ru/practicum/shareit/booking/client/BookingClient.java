@@ -1,59 +1,105 @@
 package ru.practicum.shareit.booking.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDecisionsDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.status.State;
 import ru.practicum.shareit.client.BaseClient;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final RestTemplate streamingRestTemplate;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder restTemplateBuilder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder webClientBuilder,
+                         @Qualifier("shareItServerConnector") ClientHttpConnector shareItServerConnector,
+                         RestTemplateBuilder restTemplateBuilder,
+                         @Qualifier("shareItServerStreamingRequestFactory") ClientHttpRequestFactory streamingRequestFactory) {
         super(
-                restTemplateBuilder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                webClientBuilder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(shareItServerConnector)
                         .build()
         );
+        streamingRestTemplate = restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                .requestFactory(() -> streamingRequestFactory)
+                .build();
     }
 
-    public ResponseEntity<Object> createNewBooking(Long userId, BookingRequestDto bookingRequestDto) {
+    public Mono<ResponseEntity<Object>> createNewBooking(Long userId, BookingRequestDto bookingRequestDto) {
         return post("", userId, bookingRequestDto);
     }
 
-    public ResponseEntity<Object> getBookingByUserId(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBookingByUserId(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllUserBookings(Long userId, State state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllUserBookings(Long userId, State state, int from, int size, String after) {
+        return get(pagePath("", after), userId, pageParameters(state, from, size, after));
     }
 
-    public ResponseEntity<Object> getAllUserItemBookings(Long userId, State state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllUserItemBookings(Long userId, State state, int from, int size, String after) {
+        return get(pagePath("/owner", after), userId, pageParameters(state, from, size, after));
+    }
+
+    public Mono<ResponseEntity<Object>> getUserBookingsSummary(Long userId) {
+        return get("/summary", userId);
     }
 
-    public ResponseEntity<Object> approveBooking(Long bookingId, Boolean approved, Long ownerId) {
+    public Mono<ResponseEntity<Object>> getUserItemBookingsSummary(Long userId) {
+        return get("/owner/summary", userId);
+    }
+
+    public void exportUserBookings(Long userId, State state, HttpServletResponse response) throws IOException {
+        getStream(streamingRestTemplate, "/export?state={state}", userId, Map.of("state", state.name()), response);
+    }
+
+    public void exportUserItemBookings(Long userId, State state, HttpServletResponse response) throws IOException {
+        getStream(streamingRestTemplate, "/owner/export?state={state}", userId, Map.of("state", state.name()), response);
+    }
+
+    public Mono<ResponseEntity<Object>> approveBooking(Long bookingId, Boolean approved, Long ownerId) {
         return patch("/" + bookingId + "?approved=" + approved, ownerId, null);
     }
-}
\ No newline at end of file
+
+    private static String pagePath(String path, String after) {
+        String query = path + "?state={state}&from={from}&size={size}";
+        return after == null ? query : query + "&after={after}";
+    }
+
+    private static Map<String, Object> pageParameters(State state, int from, int size, String after) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+
+        if (after != null) {
+            parameters.put("after", after);
+        }
+
+        return parameters;
+    }
+
+    public Mono<ResponseEntity<Object>> approveBookings(BookingDecisionsDto bookingDecisionsDto, Long ownerId) {
+        return patch("/batch", ownerId, bookingDecisionsDto);
+    }
+}
@@ -6,14 +6,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingDecisionsDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.status.State;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 
 @Slf4j
 @Controller
@@ -24,41 +28,76 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> createNewBooking(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
-                                                   @RequestBody @Valid BookingRequestDto bookingRequestDto) {
+    public Mono<ResponseEntity<Object>> createNewBooking(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+                                                         @RequestBody @Valid BookingRequestDto bookingRequestDto) {
         log.info("Creating booking {}, userId={}", bookingRequestDto, userId);
         return bookingClient.createNewBooking(userId, bookingRequestDto);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingByUserId(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
-                                                     @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBookingByUserId(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+                                                           @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBookingByUserId(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUserBookings(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
-                                                     @RequestParam(defaultValue = "ALL") State state,
-                                                     @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                     @Positive @RequestParam(defaultValue = "10") int size) {
-        log.info("Get booking with state {}, userId={}, from={}, size={}", state, userId, from, size);
-        return bookingClient.getAllUserBookings(userId, state, from, size);
+    public Mono<ResponseEntity<Object>> getAllUserBookings(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+                                                           @RequestParam(defaultValue = "ALL") State state,
+                                                           @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                           @Positive @RequestParam(defaultValue = "10") int size,
+                                                           @RequestParam(required = false) String after) {
+        log.info("Get booking with state {}, userId={}, from={}, size={}, after={}", state, userId, from, size, after);
+        return bookingClient.getAllUserBookings(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllUserItemBookings(@RequestParam(defaultValue = "ALL") State state,
-                                                         @RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
-                                                         @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
-                                                         @RequestParam(required = false, defaultValue = "10") @Positive int size) {
-        log.info("Get booking of owner with state {}, userId={}, from={}, size={}", state, userId, from, size);
-        return bookingClient.getAllUserItemBookings(userId, state, from, size);
+    public Mono<ResponseEntity<Object>> getAllUserItemBookings(@RequestParam(defaultValue = "ALL") State state,
+                                                               @RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+                                                               @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
+                                                               @RequestParam(required = false, defaultValue = "10") @Positive int size,
+                                                               @RequestParam(required = false) String after) {
+        log.info("Get booking of owner with state {}, userId={}, from={}, size={}, after={}", state, userId, from, size,
+                after);
+        return bookingClient.getAllUserItemBookings(userId, state, from, size, after);
+    }
+
+    @GetMapping("/summary")
+    public Mono<ResponseEntity<Object>> getUserBookingsSummary(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId) {
+        return bookingClient.getUserBookingsSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public Mono<ResponseEntity<Object>> getUserItemBookingsSummary(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId) {
+        return bookingClient.getUserItemBookingsSummary(userId);
+    }
+
+    @GetMapping("/export")
+    public void exportUserBookings(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+                                   @RequestParam(defaultValue = "ALL") State state,
+                                   HttpServletResponse response) throws IOException {
+        log.info("Export bookings with state {}, userId={}", state, userId);
+        bookingClient.exportUserBookings(userId, state, response);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportUserItemBookings(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+                                       @RequestParam(defaultValue = "ALL") State state,
+                                       HttpServletResponse response) throws IOException {
+        log.info("Export bookings of owner with state {}, userId={}", state, userId);
+        bookingClient.exportUserItemBookings(userId, state, response);
+    }
+
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> approveBookings(@RequestBody @Valid BookingDecisionsDto bookingDecisionsDto,
+                                                        @RequestHeader("X-Sharer-User-Id") @NotNull Long ownerId) {
+        return bookingClient.approveBookings(bookingDecisionsDto, ownerId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBooking(@PathVariable Long bookingId,
-                                                 @RequestParam Boolean approved,
-                                                 @RequestHeader("X-Sharer-User-Id") @NotNull Long ownerId) {
+    public Mono<ResponseEntity<Object>> approveBooking(@PathVariable Long bookingId,
+                                                       @RequestParam Boolean approved,
+                                                       @RequestHeader("X-Sharer-User-Id") @NotNull Long ownerId) {
         return bookingClient.approveBooking(bookingId, approved, ownerId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.NotNull;
+
+@Getter
+@Setter
+@Builder
+public class BookingDecisionDto {
+    @NotNull
+    private Long bookingId;
+    @NotNull
+    private Boolean approved;
+}
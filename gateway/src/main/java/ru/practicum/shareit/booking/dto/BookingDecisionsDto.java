@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDecisionsDto {
+    public static final int MAX_DECISIONS = 500;
+
+    @NotEmpty
+    @Size(max = MAX_DECISIONS)
+    private List<@Valid @NotNull BookingDecisionDto> decisions;
+}
@@ -2,95 +2,137 @@ package ru.practicum.shareit.client;
 
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
-    protected final RestTemplate restTemplate;
+    private static final Set<String> NOT_FORWARDED_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "te", "trailer", "upgrade", "proxy-authenticate", "proxy-authorization", "content-length", "date");
+    private static final byte[] EMPTY_BODY = new byte[0];
 
-    public BaseClient(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    protected final WebClient webClient;
+
+    public BaseClient(WebClient webClient) {
+        this.webClient = webClient;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected void getStream(RestTemplate streamingRestTemplate, String path, Long userId,
+                             Map<String, Object> parameters, HttpServletResponse gatewayResponse) throws IOException {
+        try {
+            streamingRestTemplate.execute(path, HttpMethod.GET, request -> {
+                request.getHeaders().addAll(defaultHeaders(userId));
+                request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+            }, response -> {
+                copyToGatewayResponse(response.getRawStatusCode(), response.getHeaders(), gatewayResponse);
+                StreamUtils.copy(response.getBody(), gatewayResponse.getOutputStream());
+                return null;
+            }, parameters);
+        } catch (HttpStatusCodeException e) {
+            copyToGatewayResponse(e.getRawStatusCode(), e.getResponseHeaders(), gatewayResponse);
+            gatewayResponse.getOutputStream().write(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, Long userId, T body) {
+    protected ResponseEntity<Object> postStream(RestTemplate streamingRestTemplate, String path, Long userId,
+                                                MediaType contentType, StreamingHttpOutputMessage.Body body) {
+        try {
+            return streamingRestTemplate.execute(path, HttpMethod.POST, request -> {
+                request.getHeaders().addAll(defaultHeaders(userId));
+                request.getHeaders().setContentType(contentType);
+
+                if (request instanceof StreamingHttpOutputMessage) {
+                    ((StreamingHttpOutputMessage) request).setBody(body);
+                } else {
+                    body.writeTo(request.getBody());
+                }
+            }, response -> prepareGatewayResponse(response.getRawStatusCode(), response.getHeaders(),
+                    StreamUtils.copyToByteArray(response.getBody())));
+        } catch (HttpStatusCodeException e) {
+            return prepareGatewayResponse(e.getRawStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> put(String path, Long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
-                                                          @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-        ResponseEntity<Object> shareitServerResponse;
-
-        try {
-            if (parameters != null) {
-                shareitServerResponse = restTemplate.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = restTemplate.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
-        }
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body) {
+        WebClient.RequestBodySpec request = parameters != null ? webClient.method(method).uri(path, parameters)
+                : webClient.method(method).uri(path);
+        request.headers(headers -> headers.addAll(defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
 
-        return prepareGatewayResponse(shareitServerResponse);
+        return requestWithBody.exchangeToMono(response -> response.bodyToMono(byte[].class)
+                .defaultIfEmpty(EMPTY_BODY)
+                .map(responseBody -> prepareGatewayResponse(response.rawStatusCode(),
+                        response.headers().asHttpHeaders(), responseBody)));
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -105,15 +147,35 @@ public class BaseClient {
         return httpHeaders;
     }
 
-    private ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static void copyToGatewayResponse(int status, @Nullable HttpHeaders headers,
+                                              HttpServletResponse gatewayResponse) {
+        gatewayResponse.setStatus(status);
+
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!NOT_FORWARDED_HEADERS.contains(name.toLowerCase())) {
+                    values.forEach(value -> gatewayResponse.addHeader(name, value));
+                }
+            });
+        }
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(int status, @Nullable HttpHeaders headers,
+                                                                 @Nullable byte[] body) {
+        HttpHeaders gatewayHeaders = new HttpHeaders();
+
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!NOT_FORWARDED_HEADERS.contains(name.toLowerCase())) {
+                    gatewayHeaders.put(name, values);
+                }
+            });
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(gatewayHeaders);
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ShareItServerClientConfig {
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(
+            @Value("${shareit-server.pool.max-per-route}") int maxPerRoute,
+            @Value("${shareit-server.pool.keep-alive}") Duration keepAlive,
+            @Value("${shareit-server.connect-timeout}") Duration connectTimeout) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxPerRoute)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(connectTimeout)
+                .maxIdleTime(keepAlive)
+                .evictInBackground(keepAlive)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector shareItServerConnector(
+            @Qualifier("shareItServerConnectionProvider") ConnectionProvider connectionProvider,
+            @Value("${shareit-server.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.read-timeout}") Duration readTimeout) {
+        return new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout));
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareItServerHttpClient(@Value("${shareit-server.pool.max-total}") int maxTotal,
+                                                       @Value("${shareit-server.pool.max-per-route}") int maxPerRoute,
+                                                       @Value("${shareit-server.pool.keep-alive}") Duration keepAlive,
+                                                       @Value("${shareit-server.connect-timeout}") Duration connectTimeout,
+                                                       @Value("${shareit-server.read-timeout}") Duration readTimeout) {
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity((int) Duration.ofSeconds(2).toMillis());
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout((int) connectTimeout.toMillis())
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive.toMillis()) : keepAlive.toMillis();
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive.toMillis(), TimeUnit.MILLISECONDS)
+                .disableCookieManagement()
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerStreamingRequestFactory(
+            @Qualifier("shareItServerHttpClient") CloseableHttpClient httpClient) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setBufferRequestBody(false);
+        return requestFactory;
+    }
+}
@@ -1,45 +1,87 @@
 package ru.practicum.shareit.item.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final RestTemplate streamingRestTemplate;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder restTemplateBuilder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder webClientBuilder,
+                      @Qualifier("shareItServerConnector") ClientHttpConnector shareItServerConnector,
+                      RestTemplateBuilder restTemplateBuilder,
+                      @Qualifier("shareItServerStreamingRequestFactory") ClientHttpRequestFactory streamingRequestFactory) {
         super(
-                restTemplateBuilder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                webClientBuilder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(shareItServerConnector)
                         .build()
         );
+        streamingRestTemplate = restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                .requestFactory(() -> streamingRequestFactory)
+                .build();
     }
 
-    public ResponseEntity<Object> createNewItem(ItemRequestDto itemRequestDto, Long ownerId) {
+    public Mono<ResponseEntity<Object>> createNewItem(ItemRequestDto itemRequestDto, Long ownerId) {
         return post("", ownerId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> updateItemByUserId(ItemRequestDto itemRequestDto, Long ownerId, Long itemId) {
+    public ResponseEntity<Object> importItems(Long ownerId, StreamingHttpOutputMessage.Body body) {
+        return postStream(streamingRestTemplate, "/bulk", ownerId, MediaType.APPLICATION_NDJSON, body);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItemByUserId(ItemRequestDto itemRequestDto, Long ownerId, Long itemId) {
         return patch("/" + itemId, ownerId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getItemByUserId(Long userId, Long itemId) {
+    public Mono<ResponseEntity<Object>> getItemByUserId(Long userId, Long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getItemsByOwner(Long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getItemComments(Long userId, Long itemId, int size, String after) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+
+        if (after == null) {
+            return get("/" + itemId + "/comments?size={size}", userId, parameters);
+        }
+
+        parameters.put("after", after);
+        return get("/" + itemId + "/comments?size={size}&after={after}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemsByOwner(Long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -47,7 +89,7 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> search(String text, Long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> search(String text, Long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -56,7 +98,7 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchCommentsByText(String text, Long userId, Long itemId, int from, int size) {
+    public Mono<ResponseEntity<Object>> searchCommentsByText(String text, Long userId, Long itemId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -65,7 +107,7 @@ public class ItemClient extends BaseClient {
         return get("/" + itemId + "/comment/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(Long itemId, CommentRequestDto commentRequestDto, Long userId) {
+    public Mono<ResponseEntity<Object>> addComment(Long itemId, CommentRequestDto commentRequestDto, Long userId) {
         return post("/" + itemId + "/comment", userId, commentRequestDto);
     }
 }
\ No newline at end of file
@@ -1,12 +1,17 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.importer.ItemImportConverter;
 import ru.practicum.shareit.item.validation.CreateItem;
 import ru.practicum.shareit.item.validation.UpdateItem;
 
@@ -15,6 +20,8 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,56 +29,80 @@ import javax.validation.constraints.PositiveOrZero;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemClient itemClient;
+    private final ItemImportConverter itemImportConverter;
 
     @PostMapping
-    public ResponseEntity<Object> createNewItem(@RequestBody
-                                                @Validated(CreateItem.class) ItemRequestDto itemRequestDto,
-                                                @RequestHeader("X-Sharer-User-Id") @NotNull Long ownerId) {
+    public Mono<ResponseEntity<Object>> createNewItem(@RequestBody
+                                                      @Validated(CreateItem.class) ItemRequestDto itemRequestDto,
+                                                      @RequestHeader("X-Sharer-User-Id") @NotNull Long ownerId) {
         return itemClient.createNewItem(itemRequestDto, ownerId);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, ItemImportConverter.TEXT_CSV_VALUE})
+    public ResponseEntity<Object> importItems(@RequestHeader("X-Sharer-User-Id") @NotNull Long ownerId,
+                                              @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                              InputStream body) {
+        return itemClient.importItems(ownerId, out -> itemImportConverter.convert(body, contentType, out));
+    }
+
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateItemByUserId(@Validated(UpdateItem.class)
-                                                     @RequestBody ItemRequestDto itemRequestDto,
-                                                     @RequestHeader("X-Sharer-User-Id") @NotNull Long ownerId,
-                                                     @PathVariable("id") Long itemId) {
+    public Mono<ResponseEntity<Object>> updateItemByUserId(@Validated(UpdateItem.class)
+                                                           @RequestBody ItemRequestDto itemRequestDto,
+                                                           @RequestHeader("X-Sharer-User-Id") @NotNull Long ownerId,
+                                                           @PathVariable("id") Long itemId) {
         return itemClient.updateItemByUserId(itemRequestDto, ownerId, itemId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getItemByUserId(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
-                                                  @PathVariable("id") Long itemId) {
+    public Mono<ResponseEntity<Object>> getItemByUserId(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+                                                        @PathVariable("id") Long itemId) {
         return itemClient.getItemByUserId(userId, itemId);
     }
 
+    @GetMapping("/{id}/comments")
+    public Mono<ResponseEntity<Object>> getItemComments(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+                                                        @PathVariable("id") Long itemId,
+                                                        @RequestParam(required = false, defaultValue = "10") @Positive int size,
+                                                        @RequestParam(required = false) String after) {
+        return itemClient.getItemComments(userId, itemId, size, after);
+    }
+
+    @GetMapping("/{id}/availability")
+    public Mono<ResponseEntity<Object>> getItemAvailability(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+                                                            @PathVariable("id") Long itemId,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.getItemAvailability(userId, itemId, from, to);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> getItemsByOwner(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
-                                                  @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
-                                                  @RequestParam(required = false, defaultValue = "10") @Positive int size) {
+    public Mono<ResponseEntity<Object>> getItemsByOwner(@RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+                                                        @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
+                                                        @RequestParam(required = false, defaultValue = "10") @Positive int size) {
         return itemClient.getItemsByOwner(userId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestParam String text,
-                                         @RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
-                                         @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
-                                         @RequestParam(required = false, defaultValue = "10") @Positive int size) {
+    public Mono<ResponseEntity<Object>> search(@RequestParam String text,
+                                               @RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+                                               @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
+                                               @RequestParam(required = false, defaultValue = "10") @Positive int size) {
         return itemClient.search(text, userId, from, size);
     }
 
     @GetMapping("/{itemId}/comment/search")
-    public ResponseEntity<Object> searchCommentsByText(@PathVariable Long itemId,
-                                                       @RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
-                                                       @RequestParam @NotBlank String text,
-                                                       @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
-                                                       @RequestParam(required = false, defaultValue = "10") @Positive int size) {
+    public Mono<ResponseEntity<Object>> searchCommentsByText(@PathVariable Long itemId,
+                                                             @RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+                                                             @RequestParam @NotBlank String text,
+                                                             @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
+                                                             @RequestParam(required = false, defaultValue = "10") @Positive int size) {
         return itemClient.searchCommentsByText(text, userId, itemId, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@PathVariable Long itemId,
-                                             @RequestBody @Valid CommentRequestDto dto,
-                                             @RequestHeader("X-Sharer-User-Id") @NotNull Long userId) {
+    public Mono<ResponseEntity<Object>> addComment(@PathVariable Long itemId,
+                                                   @RequestBody @Valid CommentRequestDto dto,
+                                                   @RequestHeader("X-Sharer-User-Id") @NotNull Long userId) {
         return itemClient.addComment(itemId, dto, userId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportRow {
+    private Long line;
+    private ItemRequestDto item;
+    private String error;
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemImportRow;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.validation.CreateItem;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class ItemImportConverter {
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper csvMapper;
+    private final Validator validator;
+
+    public ItemImportConverter(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder objectMapperBuilder,
+                               Validator validator) {
+        this.objectMapper = objectMapper;
+        this.csvMapper = objectMapperBuilder.factory(new CsvFactory()).build();
+        this.validator = validator;
+    }
+
+    public void convert(InputStream body, MediaType contentType, OutputStream out) throws IOException {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset));
+        ObjectWriter writer = objectMapper.writerFor(ItemImportRow.class);
+        boolean csv = MediaType.valueOf(TEXT_CSV_VALUE).isCompatibleWith(contentType);
+        ObjectReader rowReader = csv ? csvReader(reader.readLine()) : objectMapper.readerFor(ItemRequestDto.class);
+        long lineNumber = csv ? 1 : 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+
+            if (line.isBlank()) {
+                continue;
+            }
+
+            out.write(writer.writeValueAsBytes(toRow(rowReader, line, lineNumber)));
+            out.write('\n');
+        }
+    }
+
+    private ItemImportRow toRow(ObjectReader rowReader, String line, long lineNumber) {
+        ItemRequestDto item;
+
+        try {
+            item = rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return ItemImportRow.builder()
+                    .line(lineNumber)
+                    .error("Строка не разобрана: " + e.getOriginalMessage())
+                    .build();
+        }
+
+        Set<ConstraintViolation<ItemRequestDto>> violations = validator.validate(item, CreateItem.class);
+
+        if (!violations.isEmpty()) {
+            return ItemImportRow.builder()
+                    .line(lineNumber)
+                    .error(violations.stream()
+                            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining("; ")))
+                    .build();
+        }
+
+        return ItemImportRow.builder()
+                .line(lineNumber)
+                .item(item)
+                .build();
+    }
+
+    private ObjectReader csvReader(String header) throws IOException {
+        if (header == null) {
+            return csvMapper.readerFor(ItemRequestDto.class).with(CsvSchema.emptySchema());
+        }
+
+        String[] columns = csvMapper.readerFor(String[].class).readValue(header);
+        CsvSchema.Builder schema = CsvSchema.builder();
+
+        for (String column : columns) {
+            schema.addColumn(column.trim());
+        }
+
+        return csvMapper.readerFor(ItemRequestDto.class)
+                .with(schema.build())
+                .with(CsvParser.Feature.EMPTY_STRING_AS_NULL);
+    }
+}
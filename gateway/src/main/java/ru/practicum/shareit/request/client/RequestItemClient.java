@@ -1,12 +1,13 @@
 package ru.practicum.shareit.request.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.RequestItemDto;
 
@@ -17,24 +18,25 @@ public class RequestItemClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder restTemplateBuilder) {
+    public RequestItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder webClientBuilder,
+                             @Qualifier("shareItServerConnector") ClientHttpConnector shareItServerConnector) {
         super(
-                restTemplateBuilder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                webClientBuilder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(shareItServerConnector)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> createNewRequest(RequestItemDto requestItemDto, Long ownerId) {
+    public Mono<ResponseEntity<Object>> createNewRequest(RequestItemDto requestItemDto, Long ownerId) {
         return post("", ownerId, requestItemDto);
     }
 
-    public ResponseEntity<Object> getRequestsByUserId(Long userId) {
+    public Mono<ResponseEntity<Object>> getRequestsByUserId(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllRequestsByUserId(Long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAllRequestsByUserId(Long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +44,7 @@ public class RequestItemClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestByUserId(Long userId, Long requestId) {
+    public Mono<ResponseEntity<Object>> getRequestByUserId(Long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 }
\ No newline at end of file
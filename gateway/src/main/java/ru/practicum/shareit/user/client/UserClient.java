@@ -1,12 +1,13 @@
 package ru.practicum.shareit.user.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.mapper.UserRequestDto;
 
@@ -15,32 +16,33 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder restTemplateBuilder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder webClientBuilder,
+                      @Qualifier("shareItServerConnector") ClientHttpConnector shareItServerConnector) {
         super(
-                restTemplateBuilder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                webClientBuilder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(shareItServerConnector)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> createNewUser(UserRequestDto userRequestDto) {
+    public Mono<ResponseEntity<Object>> createNewUser(UserRequestDto userRequestDto) {
         return post("", userRequestDto);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> getUserById(Long userId) {
+    public Mono<ResponseEntity<Object>> getUserById(Long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> updateUserById(UserRequestDto userRequestDto, Long userId) {
+    public Mono<ResponseEntity<Object>> updateUserById(UserRequestDto userRequestDto, Long userId) {
         return patch("/" + userId, userRequestDto);
     }
 
-    public ResponseEntity<Object> deleteUser(Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUser(Long userId) {
         return delete("/" + userId);
     }
 }
\ No newline at end of file
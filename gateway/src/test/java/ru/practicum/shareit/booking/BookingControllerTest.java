@@ -12,11 +12,14 @@ import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.booking.status.State;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -55,4 +58,45 @@ class BookingControllerTest {
                 );
         verify(bookingClient, never()).createNewBooking(anyLong(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void exportUserItemBookingsShouldPassStateToServer() {
+        mockMvc.perform(get("/bookings/owner/export")
+                        .param("state", "past")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isOk());
+        verify(bookingClient).exportUserItemBookings(eq(1L), eq(State.PAST), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void approveBookingsShouldForwardValidDecisions() {
+        mockMvc.perform(patch("/bookings/batch")
+                        .content("{\"decisions\":[{\"bookingId\":1,\"approved\":true}]}")
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        verify(bookingClient).approveBookings(argThat(dto -> dto.getDecisions().size() == 1
+                && dto.getDecisions().get(0).getBookingId() == 1L), eq(1L));
+    }
+
+    @Test
+    @SneakyThrows
+    void approveBookingsShouldRejectEmptyOrIncompleteDecisions() {
+        mockMvc.perform(patch("/bookings/batch")
+                        .content("{\"decisions\":[]}")
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/bookings/batch")
+                        .content("{\"decisions\":[{\"bookingId\":1}]}")
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(bookingClient, never()).approveBookings(any(), anyLong());
+    }
+}
@@ -0,0 +1,193 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BaseClientTest {
+    private static final byte[] BOOKINGS = ("[ {\"id\" : 1, \"status\":\"WAITING\", "
+            + "\"item\":{\"name\":\"Грабли\"}},\n{\"id\":2.50e0} ]").getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private TestClient client;
+    private ServerResponse serverResponse;
+
+    @BeforeEach
+    @SneakyThrows
+    void setUp() {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            serverResponse.headers.forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+            send(exchange, serverResponse.status, serverResponse.body, serverResponse.chunked);
+        });
+        server.start();
+        String serverUrl = "http://localhost:" + server.getAddress().getPort() + "/bookings";
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(serverUrl));
+        client = new TestClient(WebClient.builder().baseUrl(serverUrl).build(), restTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void successfulResponseBodyShouldBeReturnedByteForByte() {
+        serverResponse = new ServerResponse(200, BOOKINGS, Map.of("Content-Type", "application/json"), true);
+
+        ResponseEntity<Object> response = client.get("?state=ALL", 1L).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat((byte[]) response.getBody(), equalTo(BOOKINGS));
+    }
+
+    @Test
+    void cursorAndContentTypeShouldBeForwarded() {
+        serverResponse = new ServerResponse(200, BOOKINGS, Map.of(
+                "Content-Type", "application/json",
+                "X-Next-Cursor", "MjAzMC0wMS0wMVQxMDowMF8x"), false);
+
+        ResponseEntity<Object> response = client.get("?state=ALL", 1L).block();
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE), equalTo("application/json"));
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor"), equalTo("MjAzMC0wMS0wMVQxMDowMF8x"));
+    }
+
+    @Test
+    void hopByHopContentLengthAndDateHeadersShouldBeDropped() {
+        serverResponse = new ServerResponse(200, BOOKINGS, Map.of(
+                "Content-Type", "application/json",
+                "Keep-Alive", "timeout=5",
+                "Proxy-Authenticate", "Basic",
+                "Trailer", "Expires",
+                "Upgrade", "h2c"), true);
+        ResponseEntity<Object> chunked = client.get("?state=ALL", 1L).block();
+        serverResponse = new ServerResponse(200, BOOKINGS, Map.of("Content-Type", "application/json"), false);
+        ResponseEntity<Object> withLength = client.get("?state=ALL", 1L).block();
+
+        assertThat(headerNames(chunked), contains("content-type"));
+        assertThat(headerNames(withLength), contains("content-type"));
+    }
+
+    @Test
+    void errorResponseBodyAndContentTypeShouldBePreserved() {
+        byte[] notFound = "{\"Ошибка запроса\":\"Бронь с id: 99 не обнаружена\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] failure = "Сервер недоступен".getBytes(StandardCharsets.UTF_8);
+
+        serverResponse = new ServerResponse(404, notFound, Map.of("Content-Type", "application/problem+json"), false);
+        ResponseEntity<Object> clientError = client.get("/99", 1L).block();
+        serverResponse = new ServerResponse(500, failure, Map.of("Content-Type", "text/plain;charset=UTF-8"), false);
+        ResponseEntity<Object> serverError = client.get("/99", 1L).block();
+
+        assertThat(clientError.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(clientError.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE), equalTo("application/problem+json"));
+        assertThat((byte[]) clientError.getBody(), equalTo(notFound));
+        assertThat(serverError.getStatusCode(), equalTo(HttpStatus.INTERNAL_SERVER_ERROR));
+        assertThat(serverError.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE), equalTo("text/plain;charset=UTF-8"));
+        assertThat((byte[]) serverError.getBody(), equalTo(failure));
+    }
+
+    @Test
+    void emptyResponseShouldHaveNoBody() {
+        serverResponse = new ServerResponse(200, new byte[0], Map.of(), false);
+
+        ResponseEntity<Object> response = client.delete("/1", 1L).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.hasBody(), is(false));
+    }
+
+    @Test
+    @SneakyThrows
+    void streamShouldCopyStatusHeadersAndBody() {
+        serverResponse = new ServerResponse(200, BOOKINGS, Map.of(
+                "Content-Type", "application/x-ndjson",
+                "Keep-Alive", "timeout=5"), true);
+        MockHttpServletResponse gatewayResponse = new MockHttpServletResponse();
+
+        client.getStream("/export?state={state}", 1L, Map.of("state", "ALL"), gatewayResponse);
+
+        assertThat(gatewayResponse.getStatus(), equalTo(200));
+        assertThat(gatewayResponse.getHeaderNames(), contains(HttpHeaders.CONTENT_TYPE));
+        assertThat(gatewayResponse.getContentType(), equalTo("application/x-ndjson"));
+        assertThat(gatewayResponse.getContentAsByteArray(), equalTo(BOOKINGS));
+    }
+
+    @Test
+    @SneakyThrows
+    void streamShouldCopyErrorResponse() {
+        byte[] badRequest = "{\"error\":\"Unknown state: UNSUPPORTED_STATUS\"}".getBytes(StandardCharsets.UTF_8);
+        serverResponse = new ServerResponse(400, badRequest, Map.of("Content-Type", "application/json"), false);
+        MockHttpServletResponse gatewayResponse = new MockHttpServletResponse();
+
+        client.getStream("/export?state={state}", 1L, Map.of("state", "ALL"), gatewayResponse);
+
+        assertThat(gatewayResponse.getStatus(), equalTo(400));
+        assertThat(gatewayResponse.getHeaderNames(), contains(HttpHeaders.CONTENT_TYPE));
+        assertThat(gatewayResponse.getContentAsByteArray(), equalTo(badRequest));
+    }
+
+    private static List<String> headerNames(ResponseEntity<Object> response) {
+        return response.getHeaders().keySet().stream()
+                .map(String::toLowerCase)
+                .collect(Collectors.toList());
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body, boolean chunked) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : chunked ? 0 : body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static final class ServerResponse {
+        private final int status;
+        private final byte[] body;
+        private final Map<String, String> headers;
+        private final boolean chunked;
+
+        private ServerResponse(int status, byte[] body, Map<String, String> headers, boolean chunked) {
+            this.status = status;
+            this.body = body;
+            this.headers = headers;
+            this.chunked = chunked;
+        }
+    }
+
+    private static final class TestClient extends BaseClient {
+        private final RestTemplate streamingRestTemplate;
+
+        private TestClient(WebClient webClient, RestTemplate streamingRestTemplate) {
+            super(webClient);
+            this.streamingRestTemplate = streamingRestTemplate;
+        }
+
+        private void getStream(String path, Long userId, Map<String, Object> parameters,
+                               MockHttpServletResponse response) throws IOException {
+            getStream(streamingRestTemplate, path, userId, parameters, response);
+        }
+    }
+}
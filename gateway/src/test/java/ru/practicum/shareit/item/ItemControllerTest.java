@@ -6,20 +6,32 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.importer.ItemImportConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import(ItemImportConverter.class)
 class ItemControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
@@ -48,4 +60,95 @@ class ItemControllerTest {
                 .andExpect(status().isBadRequest());
         verify(itemClient, never()).addComment(anyLong(), any(), anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getItemCommentsShouldPassCursorToServer() {
+        mockMvc.perform(get("/items/1/comments")
+                        .param("size", "5")
+                        .param("after", "cursor")
+                        .header("X-Sharer-User-Id", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        verify(itemClient).getItemComments(2L, 1L, 5, "cursor");
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemAvailabilityShouldPassWindowToServer() {
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T12:00:00")
+                        .param("to", "2030-01-08T12:00")
+                        .header("X-Sharer-User-Id", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        verify(itemClient).getItemAvailability(2L, 1L, LocalDateTime.of(2030, 1, 1, 12, 0),
+                LocalDateTime.of(2030, 1, 8, 12, 0));
+    }
+
+    @Test
+    @SneakyThrows
+    void importItemsShouldStreamValidatedNdjsonRowsToServer() {
+        ByteArrayOutputStream forwarded = forwardImportTo();
+        String body = "{\"name\":\"Грабли\",\"description\":\"Для листвы\",\"available\":true,\"requestId\":3}\n"
+                + "\n"
+                + "{\"name\":\"\",\"description\":\"Без имени\",\"available\":true}\n"
+                + "{\"name\":\"Лопата\"";
+
+        mockMvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", "1")
+                        .content(body.getBytes(StandardCharsets.UTF_8))
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk());
+
+        assertThat(forwarded.toString(StandardCharsets.UTF_8).split("\n"), arrayContaining(
+                "{\"line\":1,\"item\":{\"id\":null,\"name\":\"Грабли\",\"description\":\"Для листвы\","
+                        + "\"available\":true,\"requestId\":3}}",
+                "{\"line\":3,\"error\":\"name: must not be blank\"}",
+                "{\"line\":4,\"error\":\"Строка не разобрана: Unexpected end-of-input: expected close marker for Object "
+                        + "(start marker at [Source: (String)\\\"{\\\"name\\\":\\\"Лопата\\\"\\\"; line: 1, column: 1])\"}"
+        ));
+        verify(itemClient).importItems(eq(1L), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void importItemsShouldConvertCsvRowsToNdjson() {
+        ByteArrayOutputStream forwarded = forwardImportTo();
+        String body = "name,description,available,requestId\n"
+                + "Грабли,\"Для листвы, веток\",true,\n"
+                + "Лопата,,true,\n";
+
+        mockMvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", "1")
+                        .content(body.getBytes(StandardCharsets.UTF_8))
+                        .contentType("text/csv"))
+                .andExpect(status().isOk());
+
+        assertThat(forwarded.toString(StandardCharsets.UTF_8).split("\n"), arrayContaining(
+                "{\"line\":2,\"item\":{\"id\":null,\"name\":\"Грабли\",\"description\":\"Для листвы, веток\","
+                        + "\"available\":true,\"requestId\":null}}",
+                "{\"line\":3,\"error\":\"description: must not be blank\"}"
+        ));
+    }
+
+    @Test
+    @SneakyThrows
+    void importItemsShouldRejectUnsupportedContentType() {
+        mockMvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", "1")
+                        .content("<items/>")
+                        .contentType(MediaType.APPLICATION_XML))
+                .andExpect(status().isUnsupportedMediaType());
+        verify(itemClient, never()).importItems(anyLong(), any());
+    }
+
+    private ByteArrayOutputStream forwardImportTo() {
+        ByteArrayOutputStream forwarded = new ByteArrayOutputStream();
+        when(itemClient.importItems(anyLong(), any())).thenAnswer(invocation -> {
+            invocation.<StreamingHttpOutputMessage.Body>getArgument(1).writeTo(forwarded);
+            return ResponseEntity.ok().build();
+        });
+        return forwarded;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.service.BookingAvailabilityIndex;
+
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "bookingavailability")
+public class BookingAvailabilityEndpoint {
+    private final BookingAvailabilityIndex availabilityIndex;
+
+    @ReadOperation
+    public Map<String, Object> checkConsistency() {
+        Set<Long> mismatchedItems = availabilityIndex.checkConsistency();
+        return Map.of("consistent", mismatchedItems.isEmpty(), "mismatchedItems", mismatchedItems);
+    }
+}
@@ -1,22 +1,36 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionsDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.GetBookingRequest;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.status.State;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingResponseDto createNewBooking(@RequestBody BookingRequestDto bookingRequestDto,
@@ -25,21 +39,43 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingResponseDto> getAllUserBookings(@RequestParam(defaultValue = "ALL") State state,
-                                                       @RequestHeader("X-Sharer-User-Id") Long userId,
-                                                       @RequestParam(required = false, defaultValue = "0") int from,
-                                                       @RequestParam(required = false, defaultValue = "10") int size) {
-        PageRequest pageRequest = PageRequest.of(from / size, size, Sort.Direction.DESC, "startDate");
-        return bookingService.getAllUserBookings(GetBookingRequest.of(state, userId, false), pageRequest);
+    public ResponseEntity<List<BookingResponseDto>> getAllUserBookings(@RequestParam(defaultValue = "ALL") State state,
+                                                                       @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                       @RequestParam(required = false, defaultValue = "0") int from,
+                                                                       @RequestParam(required = false, defaultValue = "10") int size,
+                                                                       @RequestParam(required = false) String after) {
+        return getBookingsPage(GetBookingRequest.of(state, userId, false), from, size, after);
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getAllUserItemBookings(@RequestParam(defaultValue = "ALL") State state,
-                                                           @RequestHeader("X-Sharer-User-Id") Long userId,
-                                                           @RequestParam(required = false, defaultValue = "0") int from,
-                                                           @RequestParam(required = false, defaultValue = "10") int size) {
-        PageRequest pageRequest = PageRequest.of(from / size, size, Sort.Direction.DESC, "startDate");
-        return bookingService.getAllUserBookings(GetBookingRequest.of(state, userId, true), pageRequest);
+    public ResponseEntity<List<BookingResponseDto>> getAllUserItemBookings(@RequestParam(defaultValue = "ALL") State state,
+                                                                           @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                           @RequestParam(required = false, defaultValue = "0") int from,
+                                                                           @RequestParam(required = false, defaultValue = "10") int size,
+                                                                           @RequestParam(required = false) String after) {
+        return getBookingsPage(GetBookingRequest.of(state, userId, true), from, size, after);
+    }
+
+    @GetMapping("/summary")
+    public BookingSummaryDto getUserBookingsSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getUserBookingsSummary(userId, false);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getUserItemBookingsSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getUserBookingsSummary(userId, true);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUserBookings(@RequestParam(defaultValue = "ALL") State state,
+                                                                    @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return exportBookings(GetBookingRequest.of(state, userId, false));
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUserItemBookings(@RequestParam(defaultValue = "ALL") State state,
+                                                                        @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return exportBookings(GetBookingRequest.of(state, userId, true));
     }
 
     @GetMapping("/{bookingId}")
@@ -54,4 +90,45 @@ public class BookingController {
                                              @RequestHeader("X-Sharer-User-Id") Long ownerId) {
         return bookingService.approveBooking(bookingId, approved, ownerId);
     }
+
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> approveBookings(@RequestBody BookingDecisionsDto bookingDecisionsDto,
+                                                          @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        return bookingService.approveBookings(bookingDecisionsDto.getDecisions(), ownerId);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportBookings(GetBookingRequest getBookingRequest) {
+        ObjectWriter writer = objectMapper.writerFor(BookingResponseDto.class);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> bookingService.exportUserBookings(getBookingRequest, booking -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(booking));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+    }
+
+    private ResponseEntity<List<BookingResponseDto>> getBookingsPage(GetBookingRequest getBookingRequest, int from,
+                                                                     int size, String after) {
+        List<BookingResponseDto> bookings;
+
+        if (after == null) {
+            PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "startDate", "id"));
+            bookings = bookingService.getAllUserBookings(getBookingRequest, pageRequest);
+        } else {
+            bookings = bookingService.getAllUserBookingsAfter(getBookingRequest, KeysetCursor.decode(after), size);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (bookings.size() == size) {
+            BookingResponseDto last = bookings.get(size - 1);
+            response.header(NEXT_CURSOR_HEADER, KeysetCursor.of(last.getStartDate(), last.getId()).encode());
+        }
+
+        return response.body(bookings);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class BookingDecisionResultDto {
+    private Long bookingId;
+    private BookingResponseDto booking;
+    private String error;
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+public interface BookingInterval {
+    Long getId();
+
+    Long getItemId();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+}
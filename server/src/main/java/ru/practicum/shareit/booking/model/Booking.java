@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 @Table(name = "bookings")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
     @Column(name = "start_date")
     private LocalDateTime startDate;
@@ -29,6 +30,10 @@ public class Booking {
     @ManyToOne(fetch = FetchType.LAZY)
     @ToString.Exclude
     private User booker;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JoinColumn(name = "owner_id")
+    private User owner;
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
 }
\ No newline at end of file
@@ -1,16 +1,22 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingInterval;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.status.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking>,
+        BookingRepositoryCustom {
     @Query("SELECT b " +
             "FROM Booking AS b " +
             "JOIN b.item AS i " +
@@ -21,35 +27,60 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, Queryds
 
     @Query("SELECT b " +
             "FROM Booking AS b " +
-            "JOIN b.item AS i " +
-            "JOIN b.booker AS bk " +
+            "JOIN FETCH b.item AS i " +
+            "JOIN FETCH b.booker AS bk " +
             "WHERE b.id = :bookingId " +
             "AND i.owner.id = :ownerId")
     Optional<Booking> findBookingByOwner(@Param("bookingId") Long bookingId, @Param("ownerId") Long ownerId);
 
+    @Query("SELECT b " +
+            "FROM Booking AS b " +
+            "JOIN FETCH b.item AS i " +
+            "JOIN FETCH b.booker AS bk " +
+            "WHERE b.id IN :bookingIds " +
+            "AND i.owner.id = :ownerId")
+    List<Booking> findAllBookingsByOwner(@Param("bookingIds") Collection<Long> bookingIds,
+                                         @Param("ownerId") Long ownerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking AS b " +
+            "SET b.status = :status " +
+            "WHERE b.id IN :bookingIds " +
+            "AND b.status = :current")
+    int updateStatusByIdInAndStatus(@Param("bookingIds") Collection<Long> bookingIds,
+                                    @Param("current") BookingStatus current,
+                                    @Param("status") BookingStatus status);
+
+    List<Booking> findAllByStatusAndStartDateBeforeOrderById(BookingStatus status, LocalDateTime cur,
+                                                             Pageable pageable);
+
     @Query(value = "SELECT * " +
+            "FROM (SELECT bk.*, ROW_NUMBER() OVER (PARTITION BY bk.item_id ORDER BY bk.start_date DESC) AS rn " +
             "FROM bookings AS bk " +
-            "JOIN items AS i ON bk.item_id=i.id " +
-            "JOIN users AS u ON bk.booker_id=u.id " +
-            "WHERE bk.item_id=(:id) " +
+            "WHERE bk.item_id IN (:ids) " +
             "AND bk.start_date <= :cur " +
-            "AND bk.status NOT IN('REJECTED', 'CANCELLED') " +
-            "ORDER BY bk.start_date DESC " +
-            "LIMIT 1", nativeQuery = true)
-    Optional<Booking> findLastBookingByItemId(@Param("id") Long id, @Param("cur") LocalDateTime cur);
-
-    @Query(value = "SELECT * " +
+            "AND bk.status NOT IN('REJECTED', 'CANCELLED')) AS last_bk " +
+            "WHERE last_bk.rn = 1 " +
+            "UNION ALL " +
+            "SELECT * " +
+            "FROM (SELECT bk.*, ROW_NUMBER() OVER (PARTITION BY bk.item_id ORDER BY bk.start_date ASC) AS rn " +
             "FROM bookings AS bk " +
-            "JOIN items AS i ON bk.item_id=i.id " +
-            "JOIN users AS u ON bk.booker_id=u.id " +
-            "WHERE bk.item_id=(:id) " +
+            "WHERE bk.item_id IN (:ids) " +
             "AND bk.start_date > :cur " +
-            "AND bk.status NOT IN('REJECTED', 'CANCELLED') " +
-            "ORDER BY bk.start_date ASC " +
-            "LIMIT 1", nativeQuery = true)
-    Optional<Booking> findNextBookingByItemId(@Param("id") Long id, @Param("cur") LocalDateTime cur);
+            "AND bk.status NOT IN('REJECTED', 'CANCELLED')) AS next_bk " +
+            "WHERE next_bk.rn = 1", nativeQuery = true)
+    List<Booking> findLastAndNextBookingsByItemIdIn(@Param("ids") List<Long> ids, @Param("cur") LocalDateTime cur);
 
-    List<Booking> findAllByItemIdIn(List<Long> ids);
+    @Query("SELECT b " +
+            "FROM Booking AS b " +
+            "WHERE b.booker.id = :bookerId " +
+            "AND b.item.id = :itemId " +
+            "AND b.endDate < :cur")
+    List<Booking> findCompletedBookings(@Param("bookerId") Long bookerId, @Param("itemId") Long itemId,
+                                        @Param("cur") LocalDateTime cur, Pageable page);
 
-    Optional<Booking> findFirstByBookerIdAndItemIdAndEndDateBefore(Long bookerId, Long itemId, LocalDateTime cur);
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.startDate AS startDate, b.endDate AS endDate " +
+            "FROM Booking AS b " +
+            "WHERE b.status NOT IN :statuses")
+    List<BookingInterval> findAllIntervalsByStatusNotIn(@Param("statuses") Collection<BookingStatus> statuses);
 }
\ No newline at end of file
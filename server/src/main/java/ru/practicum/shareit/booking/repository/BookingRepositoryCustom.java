@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.repository;
+
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+    List<Booking> findAllWithItemAndBooker(Predicate predicate, Pageable pageable);
+
+    List<Booking> findAllNewestFirst(Predicate predicate, long limit);
+
+    Stream<Booking> streamNewestFirst(Predicate predicate, int fetchSize);
+
+    List<Long> countMatching(Predicate predicate, List<Predicate> conditions);
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import ru.practicum.shareit.booking.model.Booking;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.booking.model.QBooking.booking;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findAllWithItemAndBooker(Predicate predicate, Pageable pageable) {
+        JPQLQuery<Booking> query = selectWithItemAndBooker(predicate);
+        return new Querydsl(entityManager, new PathBuilder<>(Booking.class, booking.getMetadata()))
+                .applyPagination(pageable, query)
+                .fetch();
+    }
+
+    @Override
+    public List<Booking> findAllNewestFirst(Predicate predicate, long limit) {
+        return selectWithItemAndBooker(predicate)
+                .orderBy(booking.startDate.desc(), booking.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public Stream<Booking> streamNewestFirst(Predicate predicate, int fetchSize) {
+        return selectWithItemAndBooker(predicate)
+                .orderBy(booking.startDate.desc(), booking.id.desc())
+                .setHint(QueryHints.FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.READ_ONLY, true)
+                .setHint(QueryHints.CACHE_MODE, CacheMode.IGNORE)
+                .stream();
+    }
+
+    @Override
+    public List<Long> countMatching(Predicate predicate, List<Predicate> conditions) {
+        List<Expression<Long>> counts = new ArrayList<>();
+        counts.add(booking.count());
+        conditions.forEach(condition -> counts.add(new CaseBuilder()
+                .when(condition).then(1L)
+                .otherwise(0L)
+                .sum()));
+
+        Tuple result = new JPAQueryFactory(entityManager)
+                .select(counts.toArray(new Expression<?>[0]))
+                .from(booking)
+                .where(predicate)
+                .fetchOne();
+        return IntStream.range(0, counts.size())
+                .mapToObj(i -> result == null || result.get(i, Long.class) == null ? 0L : result.get(i, Long.class))
+                .collect(Collectors.toList());
+    }
+
+    private JPAQuery<Booking> selectWithItemAndBooker(Predicate predicate) {
+        return new JPAQueryFactory(entityManager)
+                .selectFrom(booking)
+                .join(booking.item).fetchJoin()
+                .join(booking.booker).fetchJoin()
+                .where(predicate);
+    }
+}
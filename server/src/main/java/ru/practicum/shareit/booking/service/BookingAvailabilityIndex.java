@@ -0,0 +1,244 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.status.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingAvailabilityIndex implements SmartInitializingSingleton {
+    public static final List<BookingStatus> RELEASED_STATUSES = List.of(BookingStatus.REJECTED, BookingStatus.CANCELLED);
+    private static final Duration STORAGE_PRECISION = Duration.ofNanos(1_000);
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, ItemTimeline> timelines = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        warmUp();
+    }
+
+    public void warmUp() {
+        List<BookingInterval> intervals = bookingRepository.findAllIntervalsByStatusNotIn(RELEASED_STATUSES);
+        timelines.clear();
+        intervals.forEach(interval -> timeline(interval.getItemId())
+                .add(interval.getId(), interval.getStartDate(), interval.getEndDate()));
+        log.info("Индекс доступности вещей построен: {} броней, {} вещей", intervals.size(), timelines.size());
+    }
+
+    public boolean isAvailable(Long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemTimeline timeline = timelines.get(itemId);
+        return timeline == null || !timeline.overlaps(start, end);
+    }
+
+    public List<FreeSlotDto> freeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemTimeline timeline = timelines.get(itemId);
+
+        if (timeline == null) {
+            return List.of(slot(from, to));
+        }
+
+        return timeline.freeSlots(from, to);
+    }
+
+    public boolean tryReserve(Booking booking) {
+        if (RELEASED_STATUSES.contains(booking.getStatus())) {
+            return true;
+        }
+
+        Long itemId = booking.getItem().getId();
+        Long bookingId = booking.getId();
+
+        if (!timeline(itemId).addIfFree(bookingId, booking.getStartDate(), booking.getEndDate())) {
+            return false;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        timeline(itemId).remove(bookingId);
+                    }
+                }
+            });
+        }
+
+        return true;
+    }
+
+    public void release(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Long bookingId = booking.getId();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    timeline(itemId).remove(bookingId);
+                }
+            });
+        } else {
+            timeline(itemId).remove(bookingId);
+        }
+    }
+
+    public Set<Long> checkConsistency() {
+        Map<Long, Map<Long, Interval>> actual = bookingRepository.findAllIntervalsByStatusNotIn(RELEASED_STATUSES)
+                .stream()
+                .collect(Collectors.groupingBy(BookingInterval::getItemId, Collectors.toMap(BookingInterval::getId,
+                        interval -> new Interval(interval.getStartDate(), interval.getEndDate()))));
+        Set<Long> itemIds = new HashSet<>(actual.keySet());
+        itemIds.addAll(timelines.keySet());
+        Set<Long> mismatched = new TreeSet<>();
+
+        for (Long itemId : itemIds) {
+            Map<Long, Interval> expected = actual.getOrDefault(itemId, Collections.emptyMap());
+
+            ItemTimeline timeline = timelines.get(itemId);
+
+            if (timeline == null ? !expected.isEmpty() : !timeline.matches(expected)) {
+                mismatched.add(itemId);
+            }
+        }
+
+        if (!mismatched.isEmpty()) {
+            log.warn("Индекс доступности расходится с БД для вещей {}", mismatched);
+        }
+
+        return mismatched;
+    }
+
+    private ItemTimeline timeline(Long itemId) {
+        return timelines.computeIfAbsent(itemId, id -> new ItemTimeline());
+    }
+
+    private static FreeSlotDto slot(LocalDateTime start, LocalDateTime end) {
+        return FreeSlotDto.builder()
+                .start(start)
+                .end(end)
+                .build();
+    }
+
+    private static final class Interval {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Interval(LocalDateTime start, LocalDateTime end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        private boolean matches(Interval other) {
+            return isWithinPrecision(start, other.start) && isWithinPrecision(end, other.end);
+        }
+
+        private static boolean isWithinPrecision(LocalDateTime first, LocalDateTime second) {
+            return Duration.between(first, second).abs().compareTo(STORAGE_PRECISION) < 0;
+        }
+    }
+
+    private static final class ItemTimeline {
+        private final Map<Long, Interval> bookings = new HashMap<>();
+        private final NavigableMap<LocalDateTime, LocalDateTime> occupied = new TreeMap<>();
+
+        synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> previous = occupied.lowerEntry(end);
+            return previous != null && previous.getValue().isAfter(start);
+        }
+
+        synchronized List<FreeSlotDto> freeSlots(LocalDateTime from, LocalDateTime to) {
+            List<FreeSlotDto> slots = new ArrayList<>();
+            LocalDateTime cursor = from;
+            LocalDateTime first = occupied.floorKey(from);
+            SortedMap<LocalDateTime, LocalDateTime> window = first == null ? occupied.headMap(to)
+                    : occupied.subMap(first, to);
+
+            for (Map.Entry<LocalDateTime, LocalDateTime> busy : window.entrySet()) {
+                if (busy.getKey().isAfter(cursor)) {
+                    slots.add(slot(cursor, busy.getKey()));
+                }
+
+                if (busy.getValue().isAfter(cursor)) {
+                    cursor = busy.getValue();
+                }
+            }
+
+            if (cursor.isBefore(to)) {
+                slots.add(slot(cursor, to));
+            }
+
+            return slots;
+        }
+
+        synchronized boolean addIfFree(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            if (overlaps(start, end)) {
+                return false;
+            }
+
+            add(bookingId, start, end);
+            return true;
+        }
+
+        synchronized void add(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            bookings.put(bookingId, new Interval(start, end));
+            merge(start, end);
+        }
+
+        synchronized void remove(Long bookingId) {
+            if (bookings.remove(bookingId) != null) {
+                rebuild();
+            }
+        }
+
+        synchronized boolean matches(Map<Long, Interval> expected) {
+            return bookings.size() == expected.size() && expected.entrySet().stream()
+                    .allMatch(entry -> bookings.containsKey(entry.getKey())
+                            && bookings.get(entry.getKey()).matches(entry.getValue()));
+        }
+
+        private void rebuild() {
+            occupied.clear();
+            bookings.values().forEach(interval -> merge(interval.start, interval.end));
+        }
+
+        private void merge(LocalDateTime start, LocalDateTime end) {
+            LocalDateTime from = start;
+            LocalDateTime to = end;
+            Map.Entry<LocalDateTime, LocalDateTime> floor = occupied.floorEntry(start);
+
+            if (floor != null && !floor.getValue().isBefore(start)) {
+                from = floor.getKey();
+            }
+
+            Iterator<LocalDateTime> covered = occupied.subMap(from, true, end, true).values().iterator();
+
+            while (covered.hasNext()) {
+                LocalDateTime coveredEnd = covered.next();
+
+                if (coveredEnd.isAfter(to)) {
+                    to = coveredEnd;
+                }
+
+                covered.remove();
+            }
+
+            occupied.put(from, to);
+        }
+    }
+}
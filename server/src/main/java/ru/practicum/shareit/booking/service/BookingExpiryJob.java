@@ -0,0 +1,130 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.status.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class BookingExpiryJob {
+    private final BookingRepository bookingRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingSummaryCache summaryCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration pause;
+    private final Counter expiredCounter;
+    private final Timer expiryTimer;
+
+    public BookingExpiryJob(BookingRepository bookingRepository,
+                            BookingAvailabilityIndex availabilityIndex,
+                            BookingSummaryCache summaryCache,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.booking-expiry.chunk-size}") int chunkSize,
+                            @Value("${shareit.booking-expiry.pause}") Duration pause) {
+        this.bookingRepository = bookingRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.summaryCache = summaryCache;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        expiredCounter = Counter.builder("shareit.bookings.expired")
+                .description("Бронирования, отмененные из-за отсутствия ответа владельца")
+                .register(meterRegistry);
+        expiryTimer = Timer.builder("shareit.bookings.expiry")
+                .description("Длительность отмены просроченных бронирований")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-expiry.interval}",
+            initialDelayString = "${shareit.booking-expiry.interval}")
+    public int expireStaleBookings() {
+        return expiryTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            int expired = 0;
+            ExpiredChunk chunk;
+
+            do {
+                chunk = expireChunk(now);
+                expired += chunk.cancelled;
+
+                if (chunk.selected == chunkSize && !pause()) {
+                    break;
+                }
+            } while (chunk.selected == chunkSize);
+
+            if (expired > 0) {
+                summaryCache.evictAll();
+                log.info("Отменено бронирований без ответа владельца: {}", expired);
+            }
+
+            return expired;
+        });
+    }
+
+    private ExpiredChunk expireChunk(LocalDateTime now) {
+        ExpiredChunk chunk = transactionTemplate.execute(status -> {
+            List<Booking> stale = bookingRepository.findAllByStatusAndStartDateBeforeOrderById(BookingStatus.WAITING,
+                    now, PageRequest.of(0, chunkSize));
+
+            if (stale.isEmpty()) {
+                return ExpiredChunk.EMPTY;
+            }
+
+            List<Long> ids = stale.stream().map(Booking::getId).collect(Collectors.toList());
+            int updated = bookingRepository.updateStatusByIdInAndStatus(ids, BookingStatus.WAITING,
+                    BookingStatus.CANCELLED);
+            List<Booking> cancelled = updated == stale.size() ? stale
+                    : bookingRepository.findAllById(ids).stream()
+                    .filter(booking -> booking.getStatus() == BookingStatus.CANCELLED)
+                    .collect(Collectors.toList());
+            cancelled.forEach(availabilityIndex::release);
+            return new ExpiredChunk(stale.size(), cancelled.size());
+        });
+
+        if (chunk == null) {
+            return ExpiredChunk.EMPTY;
+        }
+
+        expiredCounter.increment(chunk.cancelled);
+        return chunk;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Отмена просроченных бронирований прервана");
+            return false;
+        }
+    }
+
+    private static final class ExpiredChunk {
+        private static final ExpiredChunk EMPTY = new ExpiredChunk(0, 0);
+
+        private final int selected;
+        private final int cancelled;
+
+        private ExpiredChunk(int selected, int cancelled) {
+            this.selected = selected;
+            this.cancelled = cancelled;
+        }
+    }
+}
@@ -1,18 +1,31 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.GetBookingRequest;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingResponseDto createNewBooking(BookingRequestDto bookingRequestDto, Long userId);
 
     List<BookingResponseDto> getAllUserBookings(GetBookingRequest getBookingRequest, PageRequest pageRequest);
 
+    List<BookingResponseDto> getAllUserBookingsAfter(GetBookingRequest getBookingRequest, KeysetCursor after, int size);
+
+    BookingSummaryDto getUserBookingsSummary(Long userId, boolean isOwner);
+
+    void exportUserBookings(GetBookingRequest getBookingRequest, Consumer<BookingResponseDto> action);
+
     BookingResponseDto getBookingByUserId(Long bookingId, Long userId);
 
     BookingResponseDto approveBooking(Long bookingId, Boolean approved, Long ownerId);
-}
\ No newline at end of file
+
+    List<BookingDecisionResultDto> approveBookings(List<BookingDecisionDto> decisions, Long ownerId);
+}
@@ -8,8 +8,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.GetBookingRequest;
 import ru.practicum.shareit.booking.validation.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
@@ -19,13 +22,17 @@ import ru.practicum.shareit.booking.status.State;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.booking.model.QBooking.booking;
 
@@ -33,9 +40,16 @@ import static ru.practicum.shareit.booking.model.QBooking.booking;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    public static final int EXPORT_FETCH_SIZE = 500;
+    private static final List<State> SUMMARY_STATES = List.of(State.CURRENT, State.PAST, State.FUTURE, State.WAITING,
+            State.REJECTED);
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingSummaryCache summaryCache;
+    private final EntityManager entityManager;
 
     @Override
     @Transactional
@@ -54,23 +68,26 @@ public class BookingServiceImpl implements BookingService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Бронь для владельца вещи недоступна");
         }
 
-        Booking booking = BookingMapper.bookingRequestDtoToBooking(bookingRequestDto, item, user);
-        return BookingMapper.bookingToBookingResponseDto(bookingRepository.save(booking));
-    }
+        if (!availabilityIndex.isAvailable(item.getId(), bookingRequestDto.getStartDate(), bookingRequestDto.getEndDate())) {
+            throw new ItemNotAvailableException(String.format("Вещь с id: %s уже забронирована на указанный период",
+                    item.getId()));
+        }
 
-    public List<BookingResponseDto> getAllUserBookings(GetBookingRequest getBookingRequest, PageRequest pageRequest) {
-        List<Predicate> predicates = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
+        Booking booking = bookingRepository.save(BookingMapper.bookingRequestDtoToBooking(bookingRequestDto, item, user));
 
-        if (getBookingRequest.isOwner()) {
-            predicates.add(booking.item.owner.id.eq(getBookingRequest.getUserId()));
-        } else {
-            predicates.add(booking.booker.id.eq(getBookingRequest.getUserId()));
+        if (!availabilityIndex.tryReserve(booking)) {
+            throw new ItemNotAvailableException(String.format("Вещь с id: %s уже забронирована на указанный период",
+                    item.getId()));
         }
 
-        stateSwitcher(getBookingRequest, predicates, now);
+        summaryCache.evict(booking);
+        return BookingMapper.bookingToBookingResponseDto(booking);
+    }
+
+    public List<BookingResponseDto> getAllUserBookings(GetBookingRequest getBookingRequest, PageRequest pageRequest) {
         List<BookingResponseDto> bookingResponseDtoList = BookingMapper.bookingsToBookingResponseDtoList(
-                bookingRepository.findAll(Objects.requireNonNull(ExpressionUtils.allOf(predicates)), pageRequest));
+                bookingRepository.findAllWithItemAndBooker(Objects.requireNonNull(ExpressionUtils.allOf(
+                        getUserBookingsPredicates(getBookingRequest))), pageRequest));
 
         if (bookingResponseDtoList.isEmpty()) {
             throw new BookingNotFoundException(String.format("Пользователь с id : %s не имеет брони",
@@ -80,6 +97,39 @@ public class BookingServiceImpl implements BookingService {
         return bookingResponseDtoList;
     }
 
+    public List<BookingResponseDto> getAllUserBookingsAfter(GetBookingRequest getBookingRequest, KeysetCursor after,
+                                                            int size) {
+        List<Predicate> predicates = getUserBookingsPredicates(getBookingRequest);
+        predicates.add(booking.startDate.lt(after.getDate())
+                .or(booking.startDate.eq(after.getDate()).and(booking.id.lt(after.getId()))));
+        return BookingMapper.bookingsToBookingResponseDtoList(
+                bookingRepository.findAllNewestFirst(ExpressionUtils.allOf(predicates), size));
+    }
+
+    @Override
+    @Transactional // сводка кэшируется, поэтому читается с основной базы, а не с отстающей реплики
+    public BookingSummaryDto getUserBookingsSummary(Long userId, boolean isOwner) {
+        return summaryCache.get(userId, isOwner, () -> countUserBookingsByState(userId, isOwner));
+    }
+
+    @Override
+    public void exportUserBookings(GetBookingRequest getBookingRequest, Consumer<BookingResponseDto> action) {
+        int exported = 0;
+
+        try (Stream<Booking> bookings = bookingRepository.streamNewestFirst(
+                ExpressionUtils.allOf(getUserBookingsPredicates(getBookingRequest)), EXPORT_FETCH_SIZE)) {
+            Iterator<Booking> iterator = bookings.iterator();
+
+            while (iterator.hasNext()) {
+                action.accept(BookingMapper.bookingToBookingResponseDto(iterator.next()));
+
+                if (++exported % EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
     public BookingResponseDto getBookingByUserId(Long bookingId, Long userId) {
         Booking booking = bookingRepository.findBooking(bookingId, userId).orElseThrow(()
                 -> new BookingNotFoundException(String.format("Бронь с id: %s не обнаружена", bookingId)));
@@ -92,48 +142,157 @@ public class BookingServiceImpl implements BookingService {
                 -> new BookingNotFoundException(String.format("Бронь с id: %s для владельца с id: %s не обнаружена",
                 bookingId, ownerId)));
         checkAlreadyApproved(booking);
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
 
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+        if (bookingRepository.updateStatusByIdInAndStatus(List.of(bookingId), BookingStatus.WAITING, status) == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format("Бронь с id: %s больше не ожидает подтверждения", bookingId));
         }
 
-        return BookingMapper.bookingToBookingResponseDto(bookingRepository.save(booking));
+        summaryCache.evict(booking);
+        booking.setStatus(status);
+
+        if (!approved) {
+            availabilityIndex.release(booking);
+        }
+
+        return BookingMapper.bookingToBookingResponseDto(booking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDecisionResultDto> approveBookings(List<BookingDecisionDto> decisions, Long ownerId) {
+        Set<Long> bookingIds = decisions.stream()
+                .map(BookingDecisionDto::getBookingId)
+                .collect(Collectors.toSet());
+        Map<Long, Booking> bookings = bookingRepository.findAllBookingsByOwner(bookingIds, ownerId).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Map<Long, BookingStatus> decided = new LinkedHashMap<>();
+        List<BookingDecisionResultDto> results = new ArrayList<>(decisions.size());
+
+        for (BookingDecisionDto decision : decisions) {
+            Long bookingId = decision.getBookingId();
+            Booking booking = bookings.get(bookingId);
+
+            if (booking == null) {
+                results.add(rejectedDecision(bookingId, String.format(
+                        "Бронь с id: %s для владельца с id: %s не обнаружена", bookingId, ownerId)));
+            } else if (decided.containsKey(bookingId) || isAlreadyApproved(booking)) {
+                results.add(rejectedDecision(bookingId, "Невозможно изменить статус аренды после подтверждения"));
+            } else {
+                decided.put(bookingId, decision.getApproved() ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+                results.add(BookingDecisionResultDto.builder()
+                        .bookingId(bookingId)
+                        .build());
+            }
+        }
+
+        for (BookingStatus status : List.of(BookingStatus.APPROVED, BookingStatus.REJECTED)) {
+            List<Long> ids = decided.entrySet().stream()
+                    .filter(entry -> entry.getValue() == status)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+
+            if (!ids.isEmpty() && bookingRepository.updateStatusByIdInAndStatus(ids, BookingStatus.WAITING, status)
+                    != ids.size()) {
+                bookingRepository.findAllById(ids).stream()
+                        .filter(booking -> booking.getStatus() != status)
+                        .forEach(booking -> decided.remove(booking.getId()));
+            }
+        }
+
+        decided.forEach((bookingId, status) -> {
+            Booking booking = bookings.get(bookingId);
+            summaryCache.evict(booking);
+            booking.setStatus(status);
+
+            if (status == BookingStatus.REJECTED) {
+                availabilityIndex.release(booking);
+            }
+        });
+        results.stream()
+                .filter(result -> result.getError() == null)
+                .forEach(result -> {
+                    if (decided.containsKey(result.getBookingId())) {
+                        result.setBooking(BookingMapper.bookingToBookingResponseDto(bookings.get(result.getBookingId())));
+                    } else {
+                        result.setError(String.format("Бронь с id: %s больше не ожидает подтверждения",
+                                result.getBookingId()));
+                    }
+                });
+        return results;
+    }
+
+    private static BookingDecisionResultDto rejectedDecision(Long bookingId, String error) {
+        return BookingDecisionResultDto.builder()
+                .bookingId(bookingId)
+                .error(error)
+                .build();
     }
 
     private void checkAlreadyApproved(Booking booking) {
-        BookingStatus bookingStatus = booking.getStatus();
-        if (booking.getStatus() != null && (bookingStatus == BookingStatus.APPROVED || bookingStatus == BookingStatus.REJECTED)) {
+        if (isAlreadyApproved(booking)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                     "Невозможно изменить статус аренды после подтверждения");
         }
     }
 
+    private static boolean isAlreadyApproved(Booking booking) {
+        BookingStatus bookingStatus = booking.getStatus();
+        return bookingStatus == BookingStatus.APPROVED || bookingStatus == BookingStatus.REJECTED
+                || bookingStatus == BookingStatus.CANCELLED;
+    }
+
+
+    private BookingSummaryDto countUserBookingsByState(Long userId, boolean isOwner) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Predicate> conditions = new ArrayList<>();
+
+        for (State state : SUMMARY_STATES) {
+            conditions.add(statePredicate(state, now));
+        }
+
+        List<Long> counts = bookingRepository.countMatching(userPredicate(userId, isOwner), conditions);
+        return BookingSummaryDto.builder()
+                .all(counts.get(0))
+                .current(counts.get(1))
+                .past(counts.get(2))
+                .future(counts.get(3))
+                .waiting(counts.get(4))
+                .rejected(counts.get(5))
+                .build();
+    }
+
+    private static List<Predicate> getUserBookingsPredicates(GetBookingRequest getBookingRequest) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(userPredicate(getBookingRequest.getUserId(), getBookingRequest.isOwner()));
+
+        if (getBookingRequest.getState() != State.ALL) {
+            predicates.add(statePredicate(getBookingRequest.getState(), LocalDateTime.now()));
+        }
+
+        return predicates;
+    }
+
+    private static Predicate userPredicate(Long userId, boolean isOwner) {
+        return isOwner ? booking.owner.id.eq(userId) : booking.booker.id.eq(userId);
+    }
 
-    private static void stateSwitcher(GetBookingRequest getBookingRequest, List<Predicate> predicates,
-                                      LocalDateTime curTime) {
-        switch (getBookingRequest.getState()) {
-            case ALL:
-                break;
+    private static Predicate statePredicate(State state, LocalDateTime curTime) {
+        switch (state) {
             case FUTURE:
-                predicates.add(booking.startDate.after(curTime));
-                break;
+                return booking.startDate.after(curTime);
             case PAST:
-                predicates.add(booking.endDate.before(curTime));
-                break;
+                return booking.endDate.before(curTime);
             case CURRENT:
-                predicates.add(booking.startDate.loe(curTime)
-                        .and(booking.endDate.gt(curTime)));
-                break;
+                return booking.startDate.loe(curTime)
+                        .and(booking.endDate.gt(curTime));
             case REJECTED:
-                predicates.add(booking.status.eq(BookingStatus.REJECTED));
-                break;
+                return booking.status.eq(BookingStatus.REJECTED);
             case WAITING:
-                predicates.add(booking.status.eq(BookingStatus.WAITING));
-                break;
+                return booking.status.eq(BookingStatus.WAITING);
             default:
                 throw new UnknownStateException(State.UNSUPPORTED_STATUS.name());
         }
     }
-}
\ No newline at end of file
+}
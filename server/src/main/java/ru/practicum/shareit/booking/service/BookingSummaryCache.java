@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Component
+public class BookingSummaryCache {
+    private final Cache<String, BookingSummaryDto> summaries;
+
+    public BookingSummaryCache(@Value("${shareit.cache.booking-summary.maximum-size}") long maximumSize,
+                               @Value("${shareit.cache.booking-summary.time-to-live}") Duration timeToLive) {
+        summaries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    public BookingSummaryDto get(Long userId, boolean isOwner, Supplier<BookingSummaryDto> loader) {
+        return summaries.get(key(userId, isOwner), key -> loader.get());
+    }
+
+    public void evict(Booking booking) {
+        List<String> keys = List.of(key(booking.getBooker().getId(), false), key(booking.getOwner().getId(), true));
+        summaries.invalidateAll(keys);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    summaries.invalidateAll(keys);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        summaries.invalidateAll();
+    }
+
+    private static String key(Long userId, boolean isOwner) {
+        return (isOwner ? "owner:" : "booker:") + userId;
+    }
+}
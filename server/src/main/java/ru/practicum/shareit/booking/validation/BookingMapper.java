@@ -21,6 +21,7 @@ public class BookingMapper {
                 .endDate(bookingRequestDto.getEndDate())
                 .item(item)
                 .booker(user)
+                .owner(item.getOwner())
                 .status(bookingRequestDto.getStatus() != null ? bookingRequestDto.getStatus() : BookingStatus.WAITING)
                 .build();
     }
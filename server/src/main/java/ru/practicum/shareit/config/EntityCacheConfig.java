@@ -0,0 +1,44 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+public class EntityCacheConfig {
+    public static final String USERS_REGION = "users";
+    public static final String ITEMS_REGION = "items";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(@Value("${shareit.cache.entity.maximum-size}") long maximumSize,
+                                           @Value("${shareit.cache.entity.time-to-live}") Duration timeToLive) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : List.of(USERS_REGION, ITEMS_REGION)) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+}
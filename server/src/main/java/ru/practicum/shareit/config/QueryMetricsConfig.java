@@ -0,0 +1,45 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.metrics.RequestStatementsInterceptor;
+import ru.practicum.shareit.metrics.StatementCounter;
+
+@Configuration
+@RequiredArgsConstructor
+public class QueryMetricsConfig implements WebMvcConfigurer {
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private RequestStatementsInterceptor requestStatementsInterceptor;
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterHibernateCustomizer() {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        meterRegistry.ifAvailable(meters -> registry.addInterceptor(requestStatementsInterceptor(meters)));
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        meterRegistry.ifAvailable(meters -> configurer.registerCallableInterceptors(
+                requestStatementsInterceptor(meters)));
+    }
+
+    private RequestStatementsInterceptor requestStatementsInterceptor(MeterRegistry meters) {
+        if (requestStatementsInterceptor == null) {
+            requestStatementsInterceptor = new RequestStatementsInterceptor(meters);
+        }
+
+        return requestStatementsInterceptor;
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.datasource.ReplicaAwareTransactionManager;
+import ru.practicum.shareit.datasource.ReplicaLagMonitor;
+import ru.practicum.shareit.datasource.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maximumPoolSize;
+    private final Duration connectionTimeout;
+
+    public ReplicaDataSourceConfig(@Value("${shareit.datasource.replica.url}") String url,
+                                   @Value("${shareit.datasource.replica.username}") String username,
+                                   @Value("${shareit.datasource.replica.password}") String password,
+                                   @Value("${shareit.datasource.replica.maximum-pool-size}") int maximumPoolSize,
+                                   @Value("${shareit.datasource.replica.connection-timeout}")
+                                   Duration connectionTimeout) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maximumPoolSize = maximumPoolSize;
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean(autowireCandidate = false)
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.REPLICA);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Value("${shareit.datasource.replica.lag-query}") String lagQuery,
+                                               @Value("${shareit.datasource.replica.max-lag}") Duration maxLag,
+                                               @Value("${shareit.datasource.replica.lag-check-interval}")
+                                               Duration checkInterval) {
+        return new ReplicaLagMonitor(replicaDataSource(), lagQuery, maxLag, checkInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource,
+                replicaDataSource(), replicaLagMonitor);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(ReplicaLagMonitor replicaLagMonitor,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers) {
+        ReplicaAwareTransactionManager transactionManager = new ReplicaAwareTransactionManager(replicaLagMonitor);
+        customizers.ifAvailable(transactionManagerCustomizers -> transactionManagerCustomizers
+                .customize(transactionManager));
+        return transactionManager;
+    }
+}
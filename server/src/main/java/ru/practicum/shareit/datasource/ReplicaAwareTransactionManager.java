@@ -0,0 +1,71 @@
+package ru.practicum.shareit.datasource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.CacheStoreMode;
+
+public class ReplicaAwareTransactionManager extends JpaTransactionManager {
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaAwareTransactionManager(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+
+        if (definition.isReadOnly() && lagMonitor.isReplicaUsable()) {
+            TransactionSynchronizationManager.bindResource(lagMonitor, ReplicaRoutingDataSource.REPLICA);
+            setCacheStoreMode(CacheStoreMode.BYPASS);
+        }
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        Object replicaRoute = TransactionSynchronizationManager.unbindResourceIfPossible(lagMonitor);
+        return new SuspendedResources(super.doSuspend(transaction), replicaRoute);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        SuspendedResources resources = (SuspendedResources) suspendedResources;
+        super.doResume(transaction, resources.transactionResources);
+
+        if (resources.replicaRoute != null) {
+            TransactionSynchronizationManager.bindResource(lagMonitor, resources.replicaRoute);
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        if (TransactionSynchronizationManager.unbindResourceIfPossible(lagMonitor) != null) {
+            setCacheStoreMode(CacheStoreMode.USE);
+        }
+
+        super.doCleanupAfterCompletion(transaction);
+    }
+
+    private void setCacheStoreMode(CacheStoreMode cacheStoreMode) {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager
+                .getResource(obtainEntityManagerFactory());
+
+        if (holder != null) {
+            holder.getEntityManager().setProperty(AvailableSettings.JPA_SHARED_CACHE_STORE_MODE, cacheStoreMode);
+        }
+    }
+
+    private static final class SuspendedResources {
+        private final Object transactionResources;
+        private final Object replicaRoute;
+
+        private SuspendedResources(Object transactionResources, Object replicaRoute) {
+            this.transactionResources = transactionResources;
+            this.replicaRoute = replicaRoute;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+public class ReplicaLagMonitor {
+    private final JdbcTemplate jdbcTemplate;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final long checkIntervalNanos;
+    private final AtomicBoolean checking = new AtomicBoolean();
+    private volatile boolean usable;
+    private volatile long checkedAt;
+    private volatile boolean checked;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, Duration maxLag, Duration checkInterval) {
+        this.jdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.checkIntervalNanos = checkInterval.toNanos();
+    }
+
+    public boolean isReplicaUsable() {
+        if (!checked || System.nanoTime() - checkedAt >= checkIntervalNanos) {
+            check();
+        }
+
+        return usable;
+    }
+
+    private void check() {
+        if (!checking.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            boolean wasUsable = usable;
+            usable = isLagAcceptable();
+
+            if (wasUsable != usable || !checked) {
+                log.info(usable ? "Чтение переключено на реплику" : "Чтение переключено на основную базу");
+            }
+        } finally {
+            checkedAt = System.nanoTime();
+            checked = true;
+            checking.set(false);
+        }
+    }
+
+    private boolean isLagAcceptable() {
+        try {
+            Double lagSeconds = jdbcTemplate.queryForObject(lagQuery, Double.class);
+
+            if (lagSeconds == null || lagSeconds * 1000 > maxLag.toMillis()) {
+                log.warn("Отставание реплики {} с превышает допустимое {}", lagSeconds, maxLag);
+                return false;
+            }
+
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Реплика недоступна: {}", e.getMessage());
+            return false;
+        }
+    }
+}
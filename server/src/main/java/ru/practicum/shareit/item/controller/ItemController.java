@@ -1,17 +1,30 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/items")
 public class ItemController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemShortResponseDto createNewItem(@RequestBody ItemRequestDto itemRequestDto,
@@ -19,6 +32,14 @@ public class ItemController {
         return itemService.createNewItem(itemRequestDto, ownerId);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ItemImportResultDto importItems(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                           InputStream body) throws IOException {
+        try (MappingIterator<ItemImportRow> rows = objectMapper.readerFor(ItemImportRow.class).readValues(body)) {
+            return itemService.importItems(ownerId, rows);
+        }
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentResponseDto createNewComment(@PathVariable Long itemId,
                                                @RequestBody CommentRequestDto commentRequestDto,
@@ -39,6 +60,31 @@ public class ItemController {
         return itemService.getItemByUserId(userId, itemId);
     }
 
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<List<CommentResponseDto>> getItemComments(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                    @PathVariable("id") Long itemId,
+                                                                    @RequestParam(required = false, defaultValue = "10") int size,
+                                                                    @RequestParam(required = false) String after) {
+        List<CommentResponseDto> comments = itemService.getItemComments(userId, itemId,
+                after == null ? null : KeysetCursor.decode(after), size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (comments.size() == size) {
+            CommentResponseDto last = comments.get(size - 1);
+            response.header(NEXT_CURSOR_HEADER, KeysetCursor.of(last.getCreated(), last.getId()).encode());
+        }
+
+        return response.body(comments);
+    }
+
+    @GetMapping("/{id}/availability")
+    public List<FreeSlotDto> getItemAvailability(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @PathVariable("id") Long itemId,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getItemAvailability(userId, itemId, from, to);
+    }
+
     @PatchMapping("/{id}")
     public ItemShortResponseDto updateItemByUserId(@RequestBody ItemRequestDto itemRequestDto,
                                                    @RequestHeader("X-Sharer-User-Id") Long ownerId,
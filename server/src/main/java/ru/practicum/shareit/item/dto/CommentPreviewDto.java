@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class CommentPreviewDto {
+    private Long itemId;
+    private Long id;
+    private String text;
+    private String authorName;
+    private LocalDateTime created;
+}
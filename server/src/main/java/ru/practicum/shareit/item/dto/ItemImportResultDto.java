@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+public class ItemImportResultDto {
+    private int created;
+    private List<ItemImportErrorDto> errors;
+    private int omittedErrors;
+}
@@ -18,4 +18,5 @@ public class ItemResponseDto {
     private BookingShortDto nextBooking;
     private BookingShortDto lastBooking;
     private List<CommentResponseDto> comments;
+    private Long commentsCount;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.mapper;
 
+import ru.practicum.shareit.item.dto.CommentPreviewDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.model.Comment;
@@ -37,4 +38,23 @@ public class CommentMapper {
 
         return commentResponseDtoList;
     }
+
+    public static CommentResponseDto commentPreviewToCommentResponseDto(CommentPreviewDto commentPreview) {
+        return CommentResponseDto.builder()
+                .id(commentPreview.getId())
+                .text(commentPreview.getText())
+                .authorName(commentPreview.getAuthorName())
+                .created(commentPreview.getCreated())
+                .build();
+    }
+
+    public static List<CommentResponseDto> commentPreviewsToCommentResponseDtoList(List<CommentPreviewDto> commentPreviews) {
+        List<CommentResponseDto> commentResponseDtoList = new ArrayList<>();
+
+        for (CommentPreviewDto commentPreview : commentPreviews) {
+            commentResponseDtoList.add(commentPreviewToCommentResponseDto(commentPreview));
+        }
+
+        return commentResponseDtoList;
+    }
 }
\ No newline at end of file
@@ -64,7 +64,8 @@ public class ItemMapper {
     }
 
     public static ItemResponseDto itemToItemResponseDto(Item item, BookingShortDto next, BookingShortDto last,
-                                                        List<CommentResponseDto> commentResponseDtoList) {
+                                                        List<CommentResponseDto> commentResponseDtoList,
+                                                        long commentsCount) {
         return ItemResponseDto.builder()
                 .id(item.getId())
                 .name(item.getName())
@@ -73,6 +74,7 @@ public class ItemMapper {
                 .nextBooking(next)
                 .lastBooking(last)
                 .comments(commentResponseDtoList)
+                .commentsCount(commentsCount)
                 .build();
     }
 
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.model;
 
 import lombok.*;
+import ru.practicum.shareit.item.dto.CommentPreviewDto;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
@@ -13,9 +14,21 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "comments")
+@SqlResultSetMapping(name = Comment.COMMENT_PREVIEW_MAPPING, classes = @ConstructorResult(
+        targetClass = CommentPreviewDto.class,
+        columns = {
+                @ColumnResult(name = "item_id", type = Long.class),
+                @ColumnResult(name = "id", type = Long.class),
+                @ColumnResult(name = "text", type = String.class),
+                @ColumnResult(name = "author_name", type = String.class),
+                @ColumnResult(name = "created", type = LocalDateTime.class)
+        }))
 public class Comment {
+    public static final String COMMENT_PREVIEW_MAPPING = "CommentPreview";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
     private String text;
     @ManyToOne(fetch = FetchType.LAZY)
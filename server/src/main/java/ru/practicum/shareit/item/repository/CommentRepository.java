@@ -1,15 +1,20 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentCount;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface CommentRepository extends JpaRepository<Comment, Long>, QuerydslPredicateExecutor<Comment> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, QuerydslPredicateExecutor<Comment>,
+        CommentRepositoryCustom {
     @Query("SELECT c " +
             "FROM Comment AS c " +
             "JOIN c.item AS i " +
@@ -18,7 +23,27 @@ public interface CommentRepository extends JpaRepository<Comment, Long>, Queryds
             "ORDER BY c.created DESC")
     List<Comment> searchByText(@Param("itemId") Long itemId, @Param("text") String text, Pageable page);
 
-    List<Comment> findAllByItemIdOrderByCreatedDesc(Long itemId);
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT c " +
+            "FROM Comment AS c " +
+            "WHERE c.item.id = :itemId " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<Comment> findLatestByItemId(@Param("itemId") Long itemId, Pageable page);
 
-    List<Comment> findAllByItemIdIn(List<Long> ids);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT c " +
+            "FROM Comment AS c " +
+            "WHERE c.item.id = :itemId " +
+            "AND (c.created < :created OR (c.created = :created AND c.id < :id)) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<Comment> findLatestByItemIdBefore(@Param("itemId") Long itemId, @Param("created") LocalDateTime created,
+                                           @Param("id") Long id, Pageable page);
+
+    long countByItemId(Long itemId);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentCount(c.item.id, COUNT(c)) " +
+            "FROM Comment AS c " +
+            "WHERE c.item.id IN :ids " +
+            "GROUP BY c.item.id")
+    List<CommentCount> countByItemIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.dto.CommentPreviewDto;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CommentRepositoryCustom {
+    List<CommentPreviewDto> findLatestPreviewsByItemIdIn(Collection<Long> itemIds, int limit);
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.dto.CommentPreviewDto;
+import ru.practicum.shareit.item.model.Comment;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+    private static final String LATEST_PREVIEWS_QUERY = "SELECT latest.item_id, latest.id, latest.text, " +
+            "u.name AS author_name, latest.created " +
+            "FROM (SELECT c.id, c.item_id, c.author_id, c.text, c.created, " +
+            "ROW_NUMBER() OVER (PARTITION BY c.item_id ORDER BY c.created DESC, c.id DESC) AS rn " +
+            "FROM comments AS c " +
+            "WHERE c.item_id IN (:ids)) AS latest " +
+            "JOIN users AS u ON u.id = latest.author_id " +
+            "WHERE latest.rn <= :limit " +
+            "ORDER BY latest.created DESC, latest.id DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CommentPreviewDto> findLatestPreviewsByItemIdIn(Collection<Long> itemIds, int limit) {
+        return entityManager.createNativeQuery(LATEST_PREVIEWS_QUERY, Comment.COMMENT_PREVIEW_MAPPING)
+                .setParameter("ids", itemIds)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+}
@@ -4,17 +4,30 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @Query(value = "SELECT i.* " +
+            "FROM items AS i " +
+            "WHERE i.available = true " +
+            "AND i.search_vector @@ (to_tsquery('russian', :query) || to_tsquery('english', :query)) " +
+            "ORDER BY ts_rank(i.search_vector, to_tsquery('russian', :query) || to_tsquery('english', :query)) DESC, " +
+            "i.id", nativeQuery = true)
+    List<Item> searchAvailableItemsByText(@Param("query") String query, Pageable pageable);
+
     @Query("SELECT i " +
             "FROM Item AS i " +
-            "WHERE (LOWER(i.name) LIKE LOWER(concat('%', :text, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(concat('%', :text, '%'))) " +
-            "AND i.available = true")
-    List<Item> searchItemsByNameOrDescription(@Param("text") String text, Pageable pageable);
+            "WHERE i.owner.id = :ownerId")
+    List<Item> findAllByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
 
-    List<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemShortResponseDto(i.id, i.name, i.description, i.available, " +
+            "i.request.id) " +
+            "FROM Item AS i " +
+            "WHERE i.request.id IN :requestIds " +
+            "ORDER BY i.id")
+    List<ItemShortResponseDto> findAllShortByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
 }
\ No newline at end of file
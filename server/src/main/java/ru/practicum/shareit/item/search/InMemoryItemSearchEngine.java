@@ -0,0 +1,157 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ItemRepository itemRepository;
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> itemTerms = new HashMap<>();
+    private final Set<Long> availableItems = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        itemRepository.findAll().forEach(this::put);
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable page) {
+        List<String> terms = ItemSearchTokenizer.tokenize(text);
+
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> ids;
+        lock.readLock().lock();
+
+        try {
+            ids = rank(terms).entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .skip(page.getOffset())
+                    .limit(page.getPageSize())
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        put(item);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Long itemId = item.getId();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        itemRepository.findById(itemId).ifPresentOrElse(InMemoryItemSearchEngine.this::put,
+                                () -> evict(itemId));
+                    }
+                }
+            });
+        }
+    }
+
+    private void put(Item item) {
+        Map<String, Integer> weights = new HashMap<>();
+        ItemSearchTokenizer.tokenize(item.getName()).forEach(term -> weights.merge(term, NAME_WEIGHT, Math::max));
+        ItemSearchTokenizer.tokenize(item.getDescription())
+                .forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Math::max));
+        lock.writeLock().lock();
+
+        try {
+            remove(item.getId());
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>())
+                    .put(item.getId(), weight));
+            itemTerms.put(item.getId(), weights.keySet());
+
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                availableItems.add(item.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> rank(List<String> terms) {
+        Map<Long, Integer> scores = null;
+
+        for (String term : terms) {
+            Map<Long, Integer> termScores = new HashMap<>();
+
+            for (Map<Long, Integer> posting : postings.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+                posting.forEach((id, weight) -> termScores.merge(id, weight, Math::max));
+            }
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+        }
+
+        scores.keySet().retainAll(availableItems);
+        return scores;
+    }
+
+    private void evict(Long itemId) {
+        lock.writeLock().lock();
+
+        try {
+            remove(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long itemId) {
+        Set<String> terms = itemTerms.remove(itemId);
+        availableItems.remove(itemId);
+
+        if (terms == null) {
+            return;
+        }
+
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(itemId);
+
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
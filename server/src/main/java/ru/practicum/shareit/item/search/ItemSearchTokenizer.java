@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class ItemSearchTokenizer {
+    private static final int MIN_STEM_LENGTH = 3;
+    private static final List<String> ENDINGS = List.of(
+            "иями", "ями", "ами", "ого", "его", "ому", "ему", "ыми", "ими", "ией", "ость",
+            "ая", "яя", "ое", "ее", "ые", "ие", "ой", "ей", "ий", "ый", "ую", "юю", "ов", "ев", "ах", "ях",
+            "ам", "ям", "ом", "ем", "ию", "ия", "а", "я", "о", "е", "ы", "и", "у", "ю", "ь", "й",
+            "ing", "ies", "ed", "es", "ly", "s");
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+
+        if (text == null) {
+            return tokens;
+        }
+
+        for (String word : text.toLowerCase(Locale.ROOT).replace('ё', 'е').split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                tokens.add(stem(word));
+            }
+        }
+
+        return tokens;
+    }
+
+    public static String stem(String word) {
+        for (String ending : ENDINGS) {
+            if (word.endsWith(ending) && word.length() - ending.length() >= MIN_STEM_LENGTH) {
+                return word.substring(0, word.length() - ending.length());
+            }
+        }
+
+        return word;
+    }
+
+    public static String toPrefixQuery(String text) {
+        List<String> terms = new ArrayList<>();
+
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                terms.add(word + ":*");
+            }
+        }
+
+        return String.join(" & ", terms);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collections;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable page) {
+        String query = ItemSearchTokenizer.toPrefixQuery(text);
+
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return itemRepository.searchAvailableItemsByText(query, page);
+    }
+
+    @Override
+    public void index(Item item) {
+        // search_vector является генерируемой колонкой и обновляется самой БД
+    }
+}
@@ -1,18 +1,28 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 
 public interface ItemService {
     ItemShortResponseDto createNewItem(ItemRequestDto itemRequestDto, Long ownerId);
 
+    ItemImportResultDto importItems(Long ownerId, Iterator<ItemImportRow> rows);
+
     CommentResponseDto createNewComment(Long itemId, CommentRequestDto commentRequestDto, Long userId);
 
     List<ItemResponseDto> getAllItemsByUserId(Long ownerId, int from, int size);
 
     ItemResponseDto getItemByUserId(Long userId, Long itemId);
 
+    List<CommentResponseDto> getItemComments(Long userId, Long itemId, KeysetCursor after, int size);
+
+    List<FreeSlotDto> getItemAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
+
     ItemShortResponseDto updateItemByUserId(ItemRequestDto itemRequestDto, Long ownerId);
 
     List<ItemRequestDto> search(GetSearchItem search);
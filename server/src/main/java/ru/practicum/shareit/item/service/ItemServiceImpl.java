@@ -6,11 +6,15 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingAvailabilityIndex;
 import ru.practicum.shareit.booking.validation.BookingMapper;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.ItemUpdatingException;
@@ -22,24 +26,36 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.repository.RequestItemRepository;
 import ru.practicum.shareit.request.model.RequestItem;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    public static final int COMMENTS_PREVIEW_SIZE = 10;
+    public static final int IMPORT_CHUNK_SIZE = 50;
+    public static final int IMPORT_ERRORS_LIMIT = 100;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final RequestItemRepository requestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public ItemShortResponseDto createNewItem(ItemRequestDto itemRequestDto, Long ownerId) {
@@ -51,14 +67,47 @@ public class ItemServiceImpl implements ItemService {
             requestItem = requestRepository.findById(itemRequestDto.getRequestId()).orElse(null);
         }
 
-        Item item = ItemMapper.itemRequestDtoToItem(itemRequestDto, user, requestItem);
-        return ItemMapper.itemToItemShortResponseDto(itemRepository.save(item));
+        Item item = itemRepository.save(ItemMapper.itemRequestDtoToItem(itemRequestDto, user, requestItem));
+        itemSearchEngine.index(item);
+        return ItemMapper.itemToItemShortResponseDto(item);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ItemImportResultDto importItems(Long ownerId, Iterator<ItemImportRow> rows) {
+        User owner = userRepository.findById(ownerId).orElseThrow(()
+                -> new UserNotFoundException(String.format("Пользователь с id: %s не обнаружен", ownerId)));
+        List<ItemImportRow> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        List<ItemImportErrorDto> errors = new ArrayList<>();
+        int created = 0;
+        int omittedErrors = 0;
+
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+
+            if (chunk.size() == IMPORT_CHUNK_SIZE || !rows.hasNext()) {
+                List<ItemImportErrorDto> chunkErrors = new ArrayList<>();
+                created += transactionTemplate.execute(status -> importChunk(chunk, owner, chunkErrors));
+                int reported = Math.min(chunkErrors.size(), IMPORT_ERRORS_LIMIT - errors.size());
+                errors.addAll(chunkErrors.subList(0, reported));
+                omittedErrors += chunkErrors.size() - reported;
+                chunk.clear();
+            }
+        }
+
+        return ItemImportResultDto.builder()
+                .created(created)
+                .errors(errors)
+                .omittedErrors(omittedErrors)
+                .build();
     }
 
     @Override
     @Transactional
     public CommentResponseDto createNewComment(Long itemId, CommentRequestDto commentRequestDto, Long userId) {
-        Booking booking = bookingRepository.findFirstByBookerIdAndItemIdAndEndDateBefore(userId, itemId, LocalDateTime.now())
+        Booking booking = bookingRepository.findCompletedBookings(userId, itemId, LocalDateTime.now(),
+                        PageRequest.of(0, 1)).stream()
+                .findFirst()
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         String.format("Пользователь с id: %s не брал в аренду вещь с id: %s", userId, itemId)));
         Comment comment = CommentMapper.commentRequestDtoToComment(commentRequestDto, booking.getBooker(), booking.getItem());
@@ -70,14 +119,13 @@ public class ItemServiceImpl implements ItemService {
         Pageable page = PageRequest.of(from > 0 ? from / size : 0, size, Sort.by(Sort.Direction.ASC, "id"));
         List<Item> items = itemRepository.findAllByOwnerId(ownerId, page);
         List<Long> ids = items.stream().map(Item::getId).collect(Collectors.toList());
-        List<Booking> bookings = bookingRepository.findAllByItemIdIn(ids);
-        List<Comment> comments = commentRepository.findAllByItemIdIn(ids);
 
-        if (!bookings.isEmpty()) {
-            return connectBookingsAndComments(bookings, items, comments, now);
-        } else {
-            return ItemMapper.itemsToItemResponseDtoList(items);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
         }
+
+        return connectBookingsAndComments(bookingRepository.findLastAndNextBookingsByItemIdIn(ids, now), items,
+                getLatestComments(ids), getCommentsCounts(ids), now);
     }
 
     public ItemResponseDto getItemByUserId(Long userId, Long itemId) {
@@ -86,18 +134,57 @@ public class ItemServiceImpl implements ItemService {
                 -> new UserNotFoundException(String.format("Пользователь с id: %s не обнаружен", userId)));
         Item item = itemRepository.findById(itemId).orElseThrow(()
                 -> new ItemNotFoundException(String.format("Вещь с id: %s не обнаружена", itemId)));
-        BookingShortDto nextBooking = bookingRepository.findNextBookingByItemId(itemId, now)
-                .map(BookingMapper::bookingToBookingShortDto).orElse(null);
-        BookingShortDto lastBooking = bookingRepository.findLastBookingByItemId(itemId, now)
-                .map(BookingMapper::bookingToBookingShortDto).orElse(null);
         List<CommentResponseDto> comments = CommentMapper.commentsToCommentResponseDtoList(
-                commentRepository.findAllByItemIdOrderByCreatedDesc(itemId));
+                commentRepository.findLatestByItemId(itemId, PageRequest.of(0, COMMENTS_PREVIEW_SIZE)));
+        long commentsCount = comments.size() < COMMENTS_PREVIEW_SIZE ? comments.size()
+                : commentRepository.countByItemId(itemId);
 
-        if (user.equals(item.getOwner())) {
-            return ItemMapper.itemToItemResponseDto(item, nextBooking, lastBooking, comments);
-        } else {
-            return ItemMapper.itemToItemResponseDto(item, null, null, comments);
+        if (!user.equals(item.getOwner())) {
+            return ItemMapper.itemToItemResponseDto(item, null, null, comments, commentsCount);
         }
+
+        BookingShortDto nextBooking = null;
+        BookingShortDto lastBooking = null;
+
+        for (Booking booking : bookingRepository.findLastAndNextBookingsByItemIdIn(List.of(itemId), now)) {
+            if (booking.getStartDate().isAfter(now)) {
+                nextBooking = BookingMapper.bookingToBookingShortDto(booking);
+            } else {
+                lastBooking = BookingMapper.bookingToBookingShortDto(booking);
+            }
+        }
+
+        return ItemMapper.itemToItemResponseDto(item, nextBooking, lastBooking, comments, commentsCount);
+    }
+
+    @Override
+    public List<CommentResponseDto> getItemComments(Long userId, Long itemId, KeysetCursor after, int size) {
+        userRepository.findById(userId).orElseThrow(()
+                -> new UserNotFoundException(String.format("Пользователь с id: %s не обнаружен", userId)));
+        itemRepository.findById(itemId).orElseThrow(()
+                -> new ItemNotFoundException(String.format("Вещь с id: %s не обнаружена", itemId)));
+        Pageable page = PageRequest.of(0, size);
+
+        if (after == null) {
+            return CommentMapper.commentsToCommentResponseDtoList(commentRepository.findLatestByItemId(itemId, page));
+        }
+
+        return CommentMapper.commentsToCommentResponseDtoList(commentRepository.findLatestByItemIdBefore(itemId,
+                after.getDate(), after.getId(), page));
+    }
+
+    @Override
+    public List<FreeSlotDto> getItemAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format("Некорректный интервал: %s не раньше %s", from, to));
+        }
+
+        userRepository.findById(userId).orElseThrow(()
+                -> new UserNotFoundException(String.format("Пользователь с id: %s не обнаружен", userId)));
+        itemRepository.findById(itemId).orElseThrow(()
+                -> new ItemNotFoundException(String.format("Вещь с id: %s не обнаружена", itemId)));
+        return availabilityIndex.freeSlots(itemId, from, to);
     }
 
     @Transactional
@@ -110,7 +197,9 @@ public class ItemServiceImpl implements ItemService {
         checkOwner(item, ownerId);
         item.setOwner(owner);
         setAttributes(itemRequestDto, item);
-        return ItemMapper.itemToItemShortResponseDto(itemRepository.save(item));
+        Item updatedItem = itemRepository.save(item);
+        itemSearchEngine.index(updatedItem);
+        return ItemMapper.itemToItemShortResponseDto(updatedItem);
     }
 
     public List<ItemRequestDto> search(GetSearchItem search) {
@@ -122,7 +211,7 @@ public class ItemServiceImpl implements ItemService {
         Pageable page = PageRequest.of(search.getFrom(), search.getSize());
         userRepository.findById(search.getUserId()).orElseThrow(()
                 -> new UserNotFoundException(String.format("Пользователь с id: %s не обнаружен", search.getUserId())));
-        return ItemMapper.itemsToItemRequestDtoList(itemRepository.searchItemsByNameOrDescription(search.getText(), page));
+        return ItemMapper.itemsToItemRequestDtoList(itemSearchEngine.search(search.getText(), page));
     }
 
     @Override
@@ -137,29 +226,79 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.commentsToCommentResponseDtoList(commentRepository.searchByText(search.getItemId(), search.getText(), page));
     }
 
+    private int importChunk(List<ItemImportRow> chunk, User owner, List<ItemImportErrorDto> errors) {
+        Set<Long> requestIds = chunk.stream()
+                .filter(row -> row.getItem() != null && row.getItem().getRequestId() != null)
+                .map(row -> row.getItem().getRequestId())
+                .collect(Collectors.toSet());
+        Map<Long, RequestItem> requests = requestIds.isEmpty() ? Collections.emptyMap()
+                : requestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(RequestItem::getId, Function.identity()));
+        List<Item> items = new ArrayList<>(chunk.size());
+
+        for (ItemImportRow row : chunk) {
+            if (row.getError() != null || row.getItem() == null) {
+                errors.add(ItemImportErrorDto.builder()
+                        .line(row.getLine())
+                        .message(row.getError() != null ? row.getError() : "Строка не содержит вещи")
+                        .build());
+                continue;
+            }
+
+            Long requestId = row.getItem().getRequestId();
+
+            if (requestId != null && !requests.containsKey(requestId)) {
+                errors.add(ItemImportErrorDto.builder()
+                        .line(row.getLine())
+                        .message(String.format("Запрос с id: %s не обнаружен", requestId))
+                        .build());
+                continue;
+            }
+
+            items.add(ItemMapper.itemRequestDtoToItem(row.getItem(), owner,
+                    requestId == null ? null : requests.get(requestId)));
+        }
+
+        itemRepository.saveAll(items).forEach(itemSearchEngine::index);
+        itemRepository.flush();
+        entityManager.clear();
+        return items.size();
+    }
+
+    private List<CommentPreviewDto> getLatestComments(List<Long> itemIds) {
+        return commentRepository.findLatestPreviewsByItemIdIn(itemIds, COMMENTS_PREVIEW_SIZE);
+    }
+
+    private Map<Long, Long> getCommentsCounts(List<Long> itemIds) {
+        return commentRepository.countByItemIdIn(itemIds).stream()
+                .collect(Collectors.toMap(CommentCount::getItemId, CommentCount::getCount));
+    }
+
     private List<ItemResponseDto> connectBookingsAndComments(List<Booking> bookings, List<Item> items,
-                                                             List<Comment> comments, LocalDateTime now) {
+                                                             List<CommentPreviewDto> comments, Map<Long, Long> commentsCounts,
+                                                             LocalDateTime now) {
         Map<Long, List<Booking>> bookingMap = bookings.stream().collect(Collectors.groupingBy(b -> b.getItem().getId()));
-        Map<Long, List<Comment>> commentMap = comments.stream().collect(Collectors.groupingBy(c -> c.getItem().getId()));
+        Map<Long, List<CommentPreviewDto>> commentMap = comments.stream()
+                .collect(Collectors.groupingBy(CommentPreviewDto::getItemId));
         List<ItemResponseDto> result = new ArrayList<>();
 
         for (Item item : items) {
-            BookingShortDto nextBooking = bookingMap.getOrDefault(item.getId(), Collections.emptyList()).stream()
-                    .filter(b -> b.getStartDate().isAfter(now))
-                    .sorted(Comparator.comparing(Booking::getStartDate, Comparator.naturalOrder()))
-                    .map(BookingMapper::bookingToBookingShortDto)
-                    .findFirst().orElse(null);
-
-            BookingShortDto lastBooking = bookingMap.getOrDefault(item.getId(), Collections.emptyList()).stream()
-                    .filter(b -> b.getStartDate().isBefore(now))
-                    .sorted(Comparator.comparing(Booking::getStartDate, Comparator.reverseOrder()))
-                    .map(BookingMapper::bookingToBookingShortDto)
-                    .findFirst().orElse(null);
-
-            List<CommentResponseDto> responseComments = CommentMapper.commentsToCommentResponseDtoList(commentMap.getOrDefault(item.getId(),
+            BookingShortDto nextBooking = null;
+            BookingShortDto lastBooking = null;
+
+            for (Booking booking : bookingMap.getOrDefault(item.getId(), Collections.emptyList())) {
+                if (booking.getStartDate().isAfter(now)) {
+                    nextBooking = BookingMapper.bookingToBookingShortDto(booking);
+                } else {
+                    lastBooking = BookingMapper.bookingToBookingShortDto(booking);
+                }
+            }
+
+            List<CommentResponseDto> responseComments = CommentMapper.commentPreviewsToCommentResponseDtoList(commentMap.getOrDefault(item.getId(),
                     Collections.emptyList()));
 
-            result.add(ItemMapper.itemToItemResponseDto(item, nextBooking, lastBooking, responseComments));
+            result.add(ItemMapper.itemToItemResponseDto(item, nextBooking, lastBooking, responseComments,
+                    commentsCounts.getOrDefault(item.getId(), 0L)));
         }
         return result;
     }
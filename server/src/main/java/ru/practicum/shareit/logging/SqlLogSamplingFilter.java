@@ -0,0 +1,39 @@
+package ru.practicum.shareit.logging;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class SqlLogSamplingFilter extends OncePerRequestFilter {
+    private final double sampleRate;
+
+    public SqlLogSamplingFilter(@Value("${shareit.logging.sql-sample-rate}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        MDC.put(SqlLogTurboFilter.MDC_KEY, "true");
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(SqlLogTurboFilter.MDC_KEY);
+        }
+    }
+}
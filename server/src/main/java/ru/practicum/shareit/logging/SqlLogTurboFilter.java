@@ -0,0 +1,30 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+public class SqlLogTurboFilter extends TurboFilter {
+    public static final String MDC_KEY = "sqlLog";
+
+    private static final String[] SQL_LOGGERS = {"org.hibernate.SQL", "org.hibernate.type.descriptor.sql"};
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (level.isGreaterOrEqual(Level.INFO) || MDC.get(MDC_KEY) == null) {
+            return FilterReply.NEUTRAL;
+        }
+
+        for (String sqlLogger : SQL_LOGGERS) {
+            if (logger.getName().startsWith(sqlLogger)) {
+                return FilterReply.ACCEPT;
+            }
+        }
+
+        return FilterReply.NEUTRAL;
+    }
+}
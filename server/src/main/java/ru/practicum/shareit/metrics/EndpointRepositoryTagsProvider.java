@@ -0,0 +1,20 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class EndpointRepositoryTagsProvider extends DefaultRepositoryTagsProvider {
+    @Override
+    public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+        List<Tag> tags = new ArrayList<>();
+        super.repositoryTags(invocation).forEach(tags::add);
+        tags.add(Tag.of("uri", RequestEndpoint.current()));
+        return tags;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+
+public final class RequestEndpoint {
+    public static final String NONE = "none";
+
+    private RequestEndpoint() {
+    }
+
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if (attributes == null) {
+            return NONE;
+        }
+
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? NONE : pattern.toString();
+    }
+
+    public static String of(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? NONE : pattern.toString();
+    }
+}
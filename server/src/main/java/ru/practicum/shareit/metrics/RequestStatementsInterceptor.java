@@ -0,0 +1,75 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RequiredArgsConstructor
+public class RequestStatementsInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+    public static final String METRIC_NAME = "shareit.http.statements";
+    private static final String STATEMENTS_ATTRIBUTE = RequestStatementsInterceptor.class.getName() + ".statements";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AtomicInteger statements = (AtomicInteger) request.getAttribute(STATEMENTS_ATTRIBUTE);
+
+        if (statements == null) {
+            request.setAttribute(STATEMENTS_ATTRIBUTE, StatementCounter.start());
+        } else {
+            StatementCounter.bind(statements);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        StatementCounter.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        StatementCounter.stop();
+        AtomicInteger statements = (AtomicInteger) request.getAttribute(STATEMENTS_ATTRIBUTE);
+
+        if (statements == null || request.isAsyncStarted()) {
+            return;
+        }
+
+        request.removeAttribute(STATEMENTS_ATTRIBUTE);
+        DistributionSummary.builder(METRIC_NAME)
+                .description("Количество SQL-запросов за один HTTP-запрос")
+                .tag("method", request.getMethod())
+                .tag("uri", RequestEndpoint.of(request))
+                .register(meterRegistry)
+                .record(statements.get());
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        AtomicInteger statements = (AtomicInteger) request.getAttribute(STATEMENTS_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+
+        if (statements != null) {
+            StatementCounter.bind(statements);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        StatementCounter.stop();
+    }
+}
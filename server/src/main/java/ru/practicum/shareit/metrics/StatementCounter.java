@@ -0,0 +1,36 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<AtomicInteger> STATEMENTS = new ThreadLocal<>();
+
+    public static AtomicInteger start() {
+        AtomicInteger statements = new AtomicInteger();
+        STATEMENTS.set(statements);
+        return statements;
+    }
+
+    public static void bind(AtomicInteger statements) {
+        STATEMENTS.set(statements);
+    }
+
+    public static int stop() {
+        AtomicInteger statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements == null ? 0 : statements.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger statements = STATEMENTS.get();
+
+        if (statements != null) {
+            statements.incrementAndGet();
+        }
+
+        return sql;
+    }
+}
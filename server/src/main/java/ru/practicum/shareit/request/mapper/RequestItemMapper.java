@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.mapper;
 
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.request.dto.RequestItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestItemResponseDto;
@@ -7,6 +8,7 @@ import ru.practicum.shareit.request.model.RequestItem;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -25,7 +27,7 @@ public class RequestItemMapper {
         return RequestItem.builder()
                 .description(requestItemRequestDto.getDescription())
                 .requestor(requestor)
-                .created(LocalDateTime.now())
+                .created(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
                 .items(Collections.emptyList())
                 .build();
     }
@@ -49,4 +51,14 @@ public class RequestItemMapper {
 
         return requestItemResponseDtoList;
     }
+
+    public static RequestItemResponseDto requestItemRequestDtoToRequestItemResponseDto(
+            RequestItemRequestDto requestItemRequestDto, List<ItemShortResponseDto> items) {
+        return RequestItemResponseDto.builder()
+                .id(requestItemRequestDto.getId())
+                .description(requestItemRequestDto.getDescription())
+                .created(requestItemRequestDto.getCreated())
+                .items(items)
+                .build();
+    }
 }
\ No newline at end of file
@@ -17,7 +17,8 @@ import java.util.List;
 @Table(name = "item_request")
 public class RequestItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_request_seq")
+    @SequenceGenerator(name = "item_request_seq", sequenceName = "item_request_seq", allocationSize = 50)
     private Long id;
     private String description;
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,27 +1,24 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.request.dto.RequestItemRequestDto;
 import ru.practicum.shareit.request.model.RequestItem;
 
 import java.util.List;
 
 public interface RequestItemRepository extends JpaRepository<RequestItem, Long>, QuerydslPredicateExecutor<RequestItem> {
-    @Query("SELECT req " +
+    @Query("SELECT new ru.practicum.shareit.request.dto.RequestItemRequestDto(req.id, req.description, req.created) " +
             "FROM RequestItem AS req " +
-            "JOIN FETCH req.requestor AS u " +
-            "WHERE u.id = :id " +
-            "ORDER BY req.created DESC")
-    List<RequestItem> findAllByRequestorId(@Param("id") Long requestorId);
+            "WHERE req.requestor.id = :id " +
+            "ORDER BY req.created DESC, req.id DESC")
+    List<RequestItemRequestDto> findAllByRequestorId(@Param("id") Long requestorId);
 
-    @Query("SELECT req " +
+    @Query("SELECT new ru.practicum.shareit.request.dto.RequestItemRequestDto(req.id, req.description, req.created) " +
             "FROM RequestItem AS req " +
             "WHERE req.requestor.id != :userId")
-    @EntityGraph(attributePaths = "items")
-    Page<RequestItem> findAllPaged(Pageable page, @Param("userId") Long userId);
-}
\ No newline at end of file
+    List<RequestItemRequestDto> findAllOfOtherUsers(@Param("userId") Long userId, Pageable page);
+}
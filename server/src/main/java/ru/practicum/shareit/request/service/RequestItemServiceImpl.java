@@ -7,6 +7,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.RequestNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.repository.RequestItemRepository;
 import ru.practicum.shareit.request.dto.RequestItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestItemResponseDto;
@@ -15,7 +17,10 @@ import ru.practicum.shareit.request.mapper.RequestItemMapper;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +28,7 @@ import java.util.List;
 public class RequestItemServiceImpl implements RequestItemService {
     private final RequestItemRepository requestItemRepository;
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
 
     @Transactional
     public RequestItemRequestDto createNewRequest(RequestItemRequestDto requestItemRequestDto, Long userId) {
@@ -37,8 +43,7 @@ public class RequestItemServiceImpl implements RequestItemService {
             throw new UserNotFoundException(String.format("Пользователь с id: %s не обнаружен", userId));
         }
 
-        List<RequestItem> requests = requestItemRepository.findAllByRequestorId(userId);
-        return RequestItemMapper.requestsToRequestItemResponseDtoList(requests);
+        return withItems(requestItemRepository.findAllByRequestorId(userId));
     }
 
     public List<RequestItemResponseDto> getAllRequestsByUserId(Long userId, int from, int size) {
@@ -46,10 +51,8 @@ public class RequestItemServiceImpl implements RequestItemService {
             throw new UserNotFoundException(String.format("Пользователь с id: %s не обнаружен", userId));
         }
 
-        return requestItemRepository.findAllPaged(PageRequest.of(from > 0 ? from / size : 0, size,
-                        Sort.by(Sort.Direction.DESC, "created")), userId)
-                .map(RequestItemMapper::requestItemToRequestItemResponseDto)
-                .getContent();
+        return withItems(requestItemRepository.findAllOfOtherUsers(userId, PageRequest.of(from > 0 ? from / size : 0,
+                size, Sort.by(Sort.Direction.DESC, "created", "id"))));
     }
 
     public RequestItemResponseDto getRequestByUserId(Long userId, Long requestId) {
@@ -60,4 +63,19 @@ public class RequestItemServiceImpl implements RequestItemService {
         return RequestItemMapper.requestItemToRequestItemResponseDto(requestItemRepository.findById(requestId)
                 .orElseThrow(() -> new RequestNotFoundException(String.format("Запрос с id: %s не обнаружен", requestId))));
     }
-}
\ No newline at end of file
+
+    private List<RequestItemResponseDto> withItems(List<RequestItemRequestDto> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, List<ItemShortResponseDto>> items = itemRepository.findAllShortByRequestIdIn(requests.stream()
+                        .map(RequestItemRequestDto::getId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(ItemShortResponseDto::getRequestId));
+        return requests.stream()
+                .map(request -> RequestItemMapper.requestItemRequestDtoToRequestItemResponseDto(request,
+                        items.getOrDefault(request.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+}
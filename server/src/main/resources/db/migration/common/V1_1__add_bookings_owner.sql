@@ -0,0 +1,6 @@
+ALTER TABLE bookings
+    ADD COLUMN IF NOT EXISTS owner_id BIGINT REFERENCES users (id) ON DELETE CASCADE;
+
+UPDATE bookings
+SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = bookings.item_id)
+WHERE owner_id IS NULL;
@@ -1,6 +1,16 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS item_request_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users
 (
-    id    BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id    BIGINT DEFAULT nextval('users_seq') PRIMARY KEY,
     name  varchar(100) NOT NULL,
     email varchar(320),
     CONSTRAINT UQ_EMAIL UNIQUE (email)
@@ -8,7 +18,7 @@ CREATE TABLE IF NOT EXISTS users
 
 CREATE TABLE IF NOT EXISTS item_request
 (
-    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id            BIGINT DEFAULT nextval('item_request_seq') PRIMARY KEY,
     description   varchar(200),
     requestor_id  BIGINT REFERENCES users (id) ON DELETE CASCADE,
     creation_date timestamp
@@ -16,7 +26,7 @@ CREATE TABLE IF NOT EXISTS item_request
 
 CREATE TABLE IF NOT EXISTS items
 (
-    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id          BIGINT DEFAULT nextval('items_seq') PRIMARY KEY,
     name        varchar(100) NOT NULL,
     description varchar(200),
     available   bool,
@@ -26,19 +36,20 @@ CREATE TABLE IF NOT EXISTS items
 
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id         BIGINT DEFAULT nextval('bookings_seq') PRIMARY KEY,
     start_date timestamp,
     end_date   timestamp,
     booker_id  BIGINT REFERENCES users (id) ON DELETE CASCADE,
     item_id    BIGINT REFERENCES items (id) ON DELETE CASCADE,
+    owner_id   BIGINT REFERENCES users (id) ON DELETE CASCADE,
     status     varchar(30)
 );
 
 CREATE TABLE IF NOT EXISTS comments
 (
-    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id        BIGINT DEFAULT nextval('comments_seq') PRIMARY KEY,
     text      varchar(300) NOT NULL,
     item_id   BIGINT REFERENCES items (id) ON DELETE CASCADE,
     author_id BIGINT REFERENCES users (id) ON DELETE CASCADE,
     created   timestamp
-);
\ No newline at end of file
+);
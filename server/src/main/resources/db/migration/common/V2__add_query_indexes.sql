@@ -0,0 +1,15 @@
+CREATE INDEX IF NOT EXISTS items_owner_id_idx ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS item_request_requestor_creation_date_idx ON item_request (requestor_id, creation_date DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_start_date_idx ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_start_date_idx ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_owner_start_date_idx ON bookings (owner_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_status_start_date_idx ON bookings (status, start_date);
+
+CREATE INDEX IF NOT EXISTS comments_item_created_idx ON comments (item_id, created DESC, id DESC);
@@ -0,0 +1,44 @@
+ALTER TABLE items
+    ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+                setweight(to_tsvector('russian', coalesce(name, '')), 'A') ||
+                setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+                setweight(to_tsvector('russian', coalesce(description, '')), 'B') ||
+                setweight(to_tsvector('english', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS items_search_vector_idx ON items USING GIN (search_vector);
+
+ALTER TABLE users
+    ALTER COLUMN id DROP IDENTITY IF EXISTS,
+    ALTER COLUMN id SET DEFAULT nextval('users_seq');
+
+ALTER TABLE item_request
+    ALTER COLUMN id DROP IDENTITY IF EXISTS,
+    ALTER COLUMN id SET DEFAULT nextval('item_request_seq');
+
+ALTER TABLE items
+    ALTER COLUMN id DROP IDENTITY IF EXISTS,
+    ALTER COLUMN id SET DEFAULT nextval('items_seq');
+
+ALTER TABLE bookings
+    ALTER COLUMN id DROP IDENTITY IF EXISTS,
+    ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+
+ALTER TABLE comments
+    ALTER COLUMN id DROP IDENTITY IF EXISTS,
+    ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+
+SELECT setval('users_seq', ids.max_id) FROM (SELECT MAX(id) AS max_id FROM users) AS ids
+WHERE ids.max_id > (SELECT last_value FROM users_seq);
+
+SELECT setval('item_request_seq', ids.max_id) FROM (SELECT MAX(id) AS max_id FROM item_request) AS ids
+WHERE ids.max_id > (SELECT last_value FROM item_request_seq);
+
+SELECT setval('items_seq', ids.max_id) FROM (SELECT MAX(id) AS max_id FROM items) AS ids
+WHERE ids.max_id > (SELECT last_value FROM items_seq);
+
+SELECT setval('bookings_seq', ids.max_id) FROM (SELECT MAX(id) AS max_id FROM bookings) AS ids
+WHERE ids.max_id > (SELECT last_value FROM bookings_seq);
+
+SELECT setval('comments_seq', ids.max_id) FROM (SELECT MAX(id) AS max_id FROM comments) AS ids
+WHERE ids.max_id > (SELECT last_value FROM comments_seq);
@@ -8,23 +8,32 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.booking.status.State;
 import ru.practicum.shareit.item.dto.ItemShortResponseDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.dto.UserShortResponseDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -215,4 +224,113 @@ class BookingControllerTest {
                         jsonPath("$[0].id", is(bookingResponseDtoList.get(0).getId()), Long.class)
                 );
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getAllUserBookingsShouldReturnNextCursorWhenPageIsFull() {
+        BookingResponseDto bookingResponseDto = getBookingResponse();
+        String after = KeysetCursor.of(bookingResponseDto.getStartDate().plusDays(1), 10L).encode();
+
+        when(bookingService.getAllUserBookingsAfter(any(), any(), anyInt()))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings")
+                        .param("after", after)
+                        .param("size", "1")
+                        .header("X-Sharer-User-Id", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$", hasSize(1)),
+                        header().string(BookingController.NEXT_CURSOR_HEADER,
+                                KeysetCursor.of(bookingResponseDto.getStartDate(), bookingResponseDto.getId()).encode())
+                );
+        verify(bookingService, never()).getAllUserBookings(any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllUserItemBookingsShouldReturnBadRequestWhenCursorIsInvalid() {
+        mockMvc.perform(get("/bookings/owner")
+                        .param("after", "%%%")
+                        .header("X-Sharer-User-Id", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(bookingService, never()).getAllUserBookingsAfter(any(), any(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void exportUserItemBookingsShouldStreamNdjson() {
+        BookingResponseDto bookingResponseDto = getBookingResponse();
+
+        doAnswer(invocation -> {
+            Consumer<BookingResponseDto> action = invocation.getArgument(1);
+            action.accept(bookingResponseDto);
+            action.accept(bookingResponseDto);
+            return null;
+        }).when(bookingService).exportUserBookings(any(), any());
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                        .param("state", "FUTURE")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String line = objectMapper.writeValueAsString(bookingResponseDto) + "\n";
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentType(MediaType.APPLICATION_NDJSON),
+                        content().bytes((line + line).getBytes(StandardCharsets.UTF_8))
+                );
+        verify(bookingService, times(1)).exportUserBookings(argThat(request -> request.isOwner()
+                && request.getState() == State.FUTURE && request.getUserId() == 1L), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getUserItemBookingsSummaryShouldReturnCounts() {
+        when(bookingService.getUserBookingsSummary(anyLong(), anyBoolean()))
+                .thenReturn(BookingSummaryDto.builder().all(3).waiting(2).rejected(1).build());
+
+        mockMvc.perform(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.all", is(3)),
+                        jsonPath("$.waiting", is(2)),
+                        jsonPath("$.rejected", is(1)),
+                        jsonPath("$.current", is(0))
+                );
+        verify(bookingService, times(1)).getUserBookingsSummary(1L, true);
+    }
+
+    @Test
+    @SneakyThrows
+    void approveBookingsShouldReturnResultPerDecision() {
+        when(bookingService.approveBookings(any(), anyLong()))
+                .thenReturn(List.of(
+                        BookingDecisionResultDto.builder().bookingId(1L).booking(getBookingResponse()).build(),
+                        BookingDecisionResultDto.builder().bookingId(2L).error("Ошибка").build()));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .content("{\"decisions\":[{\"bookingId\":1,\"approved\":true},"
+                                + "{\"bookingId\":2,\"approved\":false}]}")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$[0].bookingId", is(1)),
+                        jsonPath("$[0].booking.id", notNullValue()),
+                        jsonPath("$[1].error", is("Ошибка"))
+                );
+        verify(bookingService, times(1)).approveBookings(argThat(decisions -> decisions.size() == 2
+                && decisions.get(0).getBookingId() == 1L && decisions.get(0).getApproved()
+                && !decisions.get(1).getApproved()), eq(1L));
+        verify(bookingService, never()).approveBooking(anyLong(), any(), anyLong());
+    }
+}
@@ -4,15 +4,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.QBooking;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -48,6 +53,7 @@ class BookingRepositoryTest {
                 .endDate(LocalDateTime.now().plusDays(10))
                 .item(item)
                 .booker(booker)
+                .owner(item.getOwner())
                 .build();
     }
 
@@ -156,26 +162,30 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findLastBookingByItemIdShouldReturnLastBookingWhenItemIdIsCorrect() {
+    void findAllBookingsByOwnerShouldSkipOtherOwnersBookings() {
         User userOne = getUser("dima@yandex.ru");
         User userTwo = getUser("fima@yandex.ru");
         testEntityManager.persist(userOne);
         testEntityManager.persist(userTwo);
 
         Item item = getItem(userOne);
+        Item otherItem = getItem(userTwo);
         testEntityManager.persist(item);
+        testEntityManager.persist(otherItem);
 
-        Booking booking = getBooking(item, userTwo);
-        booking.setStartDate(LocalDateTime.now().minusDays(1L));
-        testEntityManager.persist(booking);
-        Booking nextBooking = bookingRepository.findLastBookingByItemId(item.getId(), LocalDateTime.now()).get();
-        assertThat(nextBooking, allOf(
-                hasProperty("id", equalTo(booking.getId()))
-        ));
+        Booking own = getBooking(item, userTwo);
+        Booking other = getBooking(otherItem, userOne);
+        testEntityManager.persist(own);
+        testEntityManager.persist(other);
+
+        List<Booking> result = bookingRepository.findAllBookingsByOwner(List.of(own.getId(), other.getId()),
+                userOne.getId());
+
+        assertThat(result, contains(hasProperty("id", equalTo(own.getId()))));
     }
 
     @Test
-    void findLastBookingByItemIdShouldReturnEmptyResultWhenItemIdIsIncorrect() {
+    void updateStatusByIdInAndStatusShouldChangeOnlyListedWaitingBookings() {
         User userOne = getUser("dima@yandex.ru");
         User userTwo = getUser("fima@yandex.ru");
         testEntityManager.persist(userOne);
@@ -184,15 +194,30 @@ class BookingRepositoryTest {
         Item item = getItem(userOne);
         testEntityManager.persist(item);
 
-        Booking booking = getBooking(item, userTwo);
-        booking.setStartDate(LocalDateTime.now().minusDays(1L));
-        testEntityManager.persist(booking);
-        Optional<Booking> nextBooking = bookingRepository.findLastBookingByItemId(100L, LocalDateTime.now());
-        assertTrue(nextBooking.isEmpty());
+        Booking first = getBooking(item, userTwo);
+        Booking second = getBooking(item, userTwo);
+        Booking cancelled = getBooking(item, userTwo);
+        cancelled.setStatus(BookingStatus.CANCELLED);
+        Booking untouched = getBooking(item, userTwo);
+        testEntityManager.persist(first);
+        testEntityManager.persist(second);
+        testEntityManager.persist(cancelled);
+        testEntityManager.persist(untouched);
+
+        int updated = bookingRepository.updateStatusByIdInAndStatus(
+                List.of(first.getId(), second.getId(), cancelled.getId()), BookingStatus.WAITING, BookingStatus.APPROVED);
+
+        assertThat(updated, equalTo(2));
+        assertThat(testEntityManager.find(Booking.class, first.getId()).getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(testEntityManager.find(Booking.class, second.getId()).getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(testEntityManager.find(Booking.class, cancelled.getId()).getStatus(),
+                equalTo(BookingStatus.CANCELLED));
+        assertThat(testEntityManager.find(Booking.class, untouched.getId()).getStatus(), equalTo(BookingStatus.WAITING));
     }
 
     @Test
-    void findNextBookingByItemIdShouldReturnFutureBookingWhenItemIdIsCorrect() {
+    void findCompletedBookingsShouldReturnBooking() {
+        LocalDateTime now = LocalDateTime.now();
         User userOne = getUser("dima@yandex.ru");
         User userTwo = getUser("fima@yandex.ru");
         testEntityManager.persist(userOne);
@@ -202,17 +227,25 @@ class BookingRepositoryTest {
         testEntityManager.persist(item);
 
         Booking booking = getBooking(item, userTwo);
+        booking.setEndDate(now.minusHours(1));
         testEntityManager.persist(booking);
-
-        Booking nextBooking = bookingRepository.findNextBookingByItemId(item.getId(), LocalDateTime.now()).get();
-
-        assertThat(nextBooking, allOf(
-                hasProperty("id", equalTo(booking.getId()))
+        List<Booking> bookings = bookingRepository.findCompletedBookings(userTwo.getId(), item.getId(), now,
+                PageRequest.of(0, 1));
+        assertThat(bookings, hasSize(1));
+        Booking result = bookings.get(0);
+        assertThat(result, allOf(
+                hasProperty("id", equalTo(booking.getId())),
+                hasProperty("startDate", notNullValue()),
+                hasProperty("endDate", notNullValue()),
+                hasProperty("booker", equalTo(userTwo)),
+                hasProperty("item", equalTo(item)),
+                hasProperty("status", equalTo(BookingStatus.WAITING))
         ));
     }
 
     @Test
-    void findNextBookingByItemIdShouldReturnEmptyResultWhenItemIdIsInCorrect() {
+    void findCompletedBookingsShouldReturnEmptyResultWhenItemIdIncorrect() {
+        LocalDateTime now = LocalDateTime.now();
         User userOne = getUser("dima@yandex.ru");
         User userTwo = getUser("fima@yandex.ru");
         testEntityManager.persist(userOne);
@@ -222,59 +255,62 @@ class BookingRepositoryTest {
         testEntityManager.persist(item);
 
         Booking booking = getBooking(item, userTwo);
+        booking.setEndDate(now.minusHours(1));
         testEntityManager.persist(booking);
-        Optional<Booking> nextBooking = bookingRepository.findNextBookingByItemId(100L, LocalDateTime.now());
-        assertTrue(nextBooking.isEmpty());
+        List<Booking> result = bookingRepository.findCompletedBookings(userTwo.getId(), 100L, now,
+                PageRequest.of(0, 1));
+        assertTrue(result.isEmpty());
     }
 
     @Test
-    void findFirstByBookerIdAndItemIdAndEndDateBeforeShouldReturnBooking() {
-        LocalDateTime now = LocalDateTime.now();
+    void findAllByOwnerIdShouldReturnOnlyOwnerBookings() {
         User userOne = getUser("dima@yandex.ru");
         User userTwo = getUser("fima@yandex.ru");
         testEntityManager.persist(userOne);
         testEntityManager.persist(userTwo);
 
-        Item item = getItem(userOne);
-        testEntityManager.persist(item);
+        Item ownerItem = getItem(userOne);
+        Item otherItem = getItem(userTwo);
+        testEntityManager.persist(ownerItem);
+        testEntityManager.persist(otherItem);
 
-        Booking booking = getBooking(item, userTwo);
-        booking.setEndDate(now.minusHours(1));
+        Booking booking = getBooking(ownerItem, userTwo);
         testEntityManager.persist(booking);
-        Booking result = bookingRepository.findFirstByBookerIdAndItemIdAndEndDateBefore(userTwo.getId(), item.getId(), now)
-                .orElse(null);
-        assertThat(result, notNullValue());
-        assertThat(result, allOf(
-                hasProperty("id", equalTo(booking.getId())),
-                hasProperty("startDate", notNullValue()),
-                hasProperty("endDate", notNullValue()),
-                hasProperty("booker", equalTo(userTwo)),
-                hasProperty("item", equalTo(item)),
-                hasProperty("status", equalTo(BookingStatus.WAITING))
-        ));
+        testEntityManager.persist(getBooking(otherItem, userOne));
+
+        Page<Booking> result = bookingRepository.findAll(QBooking.booking.owner.id.eq(userOne.getId()),
+                Pageable.unpaged());
+
+        assertThat(result.getContent(), contains(booking));
     }
 
     @Test
-    void findFirstByBookerIdAndItemIdAndEndDateBeforeShouldReturnEmptyResultWhenItemIdIncorrect() {
-        LocalDateTime now = LocalDateTime.now();
+    void streamNewestFirstShouldReturnBookingsByStartDateDescending() {
         User userOne = getUser("dima@yandex.ru");
         User userTwo = getUser("fima@yandex.ru");
         testEntityManager.persist(userOne);
         testEntityManager.persist(userTwo);
 
         Item item = getItem(userOne);
+        Item otherItem = getItem(userTwo);
         testEntityManager.persist(item);
-
-        Booking booking = getBooking(item, userTwo);
-        booking.setEndDate(now.minusHours(1));
-        testEntityManager.persist(booking);
-        Optional<Booking> result = bookingRepository.findFirstByBookerIdAndItemIdAndEndDateBefore(userTwo.getId(),
-                100L, now);
-        assertTrue(result.isEmpty());
+        testEntityManager.persist(otherItem);
+
+        Booking earlier = getBooking(item, userTwo);
+        Booking later = getBooking(item, userTwo);
+        later.setStartDate(earlier.getStartDate().plusDays(1));
+        testEntityManager.persist(earlier);
+        testEntityManager.persist(later);
+        testEntityManager.persist(getBooking(otherItem, userOne));
+
+        try (Stream<Booking> bookings = bookingRepository.streamNewestFirst(
+                QBooking.booking.owner.id.eq(userOne.getId()), 10)) {
+            assertThat(bookings.collect(Collectors.toList()), contains(later, earlier));
+        }
     }
 
     @Test
-    void findAllByItemIdInShouldReturnBookings() {
+    void countMatchingShouldCountEveryConditionInOneQuery() {
         User userOne = getUser("dima@yandex.ru");
         User userTwo = getUser("fima@yandex.ru");
         testEntityManager.persist(userOne);
@@ -283,26 +319,67 @@ class BookingRepositoryTest {
         Item item = getItem(userOne);
         testEntityManager.persist(item);
 
-        Booking booking = getBooking(item, userTwo);
-        testEntityManager.persist(booking);
-        List<Booking> bookings = bookingRepository.findAllByItemIdIn(List.of(item.getId()));
-        assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(booking));
+        Booking rejected = getBooking(item, userTwo);
+        rejected.setStatus(BookingStatus.REJECTED);
+        testEntityManager.persist(getBooking(item, userTwo));
+        testEntityManager.persist(getBooking(item, userTwo));
+        testEntityManager.persist(rejected);
+
+        List<Long> counts = bookingRepository.countMatching(QBooking.booking.owner.id.eq(userOne.getId()),
+                List.of(QBooking.booking.status.eq(BookingStatus.WAITING),
+                        QBooking.booking.status.eq(BookingStatus.APPROVED)));
+        List<Long> emptyCounts = bookingRepository.countMatching(QBooking.booking.owner.id.eq(userTwo.getId()),
+                List.of(QBooking.booking.status.eq(BookingStatus.WAITING)));
+
+        assertThat(counts, contains(3L, 2L, 0L));
+        assertThat(emptyCounts, contains(0L, 0L));
     }
 
     @Test
-    void findAllByItemIdInShouldReturnEmptyListWhenBookingsNotFound() {
+    void findLastAndNextBookingsByItemIdInShouldReturnClosestBookingsPerItem() {
+        LocalDateTime now = LocalDateTime.now();
         User userOne = getUser("dima@yandex.ru");
         User userTwo = getUser("fima@yandex.ru");
         testEntityManager.persist(userOne);
         testEntityManager.persist(userTwo);
 
+        Item itemOne = getItem(userOne);
+        Item itemTwo = getItem(userOne);
+        testEntityManager.persist(itemOne);
+        testEntityManager.persist(itemTwo);
+
+        Booking oldest = getBooking(itemOne, userTwo);
+        oldest.setStartDate(now.minusDays(10));
+        Booking last = getBooking(itemOne, userTwo);
+        last.setStartDate(now.minusDays(2));
+        Booking next = getBooking(itemOne, userTwo);
+        next.setStartDate(now.plusDays(1));
+        Booking later = getBooking(itemOne, userTwo);
+        later.setStartDate(now.plusDays(5));
+        Booking rejected = getBooking(itemOne, userTwo);
+        rejected.setStartDate(now.minusDays(1));
+        rejected.setStatus(BookingStatus.REJECTED);
+        Booking otherItem = getBooking(itemTwo, userTwo);
+        otherItem.setStartDate(now.plusDays(3));
+        List.of(oldest, last, next, later, rejected, otherItem).forEach(testEntityManager::persist);
+
+        List<Booking> bookings = bookingRepository.findLastAndNextBookingsByItemIdIn(
+                List.of(itemOne.getId(), itemTwo.getId()), now);
+
+        assertThat(bookings, hasSize(3));
+        assertThat(bookings, containsInAnyOrder(last, next, otherItem));
+    }
+
+    @Test
+    void findLastAndNextBookingsByItemIdInShouldReturnEmptyListWhenItemHasNoBookings() {
+        User userOne = getUser("dima@yandex.ru");
+        testEntityManager.persist(userOne);
+
         Item item = getItem(userOne);
         testEntityManager.persist(item);
 
-        Booking booking = getBooking(item, userTwo);
-        testEntityManager.persist(booking);
-        List<Booking> bookings = bookingRepository.findAllByItemIdIn(Collections.emptyList());
+        List<Booking> bookings = bookingRepository.findLastAndNextBookingsByItemIdIn(List.of(item.getId()),
+                LocalDateTime.now());
         assertThat(bookings, empty());
     }
 }
\ No newline at end of file
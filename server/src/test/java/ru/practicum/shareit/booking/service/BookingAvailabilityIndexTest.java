@@ -0,0 +1,182 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAvailabilityIndexTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @InjectMocks
+    private BookingAvailabilityIndex availabilityIndex;
+
+    private static Booking getBooking(long id, long itemId, int fromDay, int toDay) {
+        return Booking.builder()
+                .id(id)
+                .item(Item.builder().id(itemId).build())
+                .startDate(START.plusDays(fromDay))
+                .endDate(START.plusDays(toDay))
+                .status(BookingStatus.WAITING)
+                .build();
+    }
+
+    private static BookingInterval getInterval(long id, long itemId, int fromDay, int toDay) {
+        return new BookingInterval() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public LocalDateTime getStartDate() {
+                return START.plusDays(fromDay);
+            }
+
+            @Override
+            public LocalDateTime getEndDate() {
+                return START.plusDays(toDay);
+            }
+        };
+    }
+
+    @Test
+    void tryReserveShouldRejectOverlappingPeriod() {
+        assertTrue(availabilityIndex.tryReserve(getBooking(1L, 1L, 0, 5)));
+
+        assertFalse(availabilityIndex.tryReserve(getBooking(2L, 1L, 4, 6)));
+        assertFalse(availabilityIndex.tryReserve(getBooking(3L, 1L, -1, 1)));
+        assertFalse(availabilityIndex.tryReserve(getBooking(4L, 1L, 1, 2)));
+        assertFalse(availabilityIndex.isAvailable(1L, START.minusDays(1), START.plusDays(10)));
+    }
+
+    @Test
+    void tryReserveShouldAcceptAdjacentPeriodsAndOtherItems() {
+        assertTrue(availabilityIndex.tryReserve(getBooking(1L, 1L, 0, 5)));
+
+        assertTrue(availabilityIndex.tryReserve(getBooking(2L, 1L, 5, 7)));
+        assertTrue(availabilityIndex.tryReserve(getBooking(3L, 1L, -2, 0)));
+        assertTrue(availabilityIndex.tryReserve(getBooking(4L, 2L, 0, 5)));
+        assertFalse(availabilityIndex.isAvailable(1L, START.plusDays(6), START.plusDays(8)));
+        assertTrue(availabilityIndex.isAvailable(1L, START.plusDays(7), START.plusDays(8)));
+    }
+
+    @Test
+    void tryReserveShouldIgnoreRejectedBookings() {
+        Booking rejected = getBooking(1L, 1L, 0, 5);
+        rejected.setStatus(BookingStatus.REJECTED);
+
+        assertTrue(availabilityIndex.tryReserve(rejected));
+        assertTrue(availabilityIndex.isAvailable(1L, START, START.plusDays(5)));
+    }
+
+    @Test
+    void releaseShouldFreePeriodButKeepNeighbours() {
+        Booking first = getBooking(1L, 1L, 0, 5);
+        Booking second = getBooking(2L, 1L, 5, 7);
+        availabilityIndex.tryReserve(first);
+        availabilityIndex.tryReserve(second);
+
+        availabilityIndex.release(first);
+
+        assertTrue(availabilityIndex.isAvailable(1L, START, START.plusDays(5)));
+        assertFalse(availabilityIndex.isAvailable(1L, START.plusDays(4), START.plusDays(6)));
+    }
+
+    @Test
+    void freeSlotsShouldReturnGapsBetweenMergedBookings() {
+        availabilityIndex.tryReserve(getBooking(1L, 1L, -3, 1));
+        availabilityIndex.tryReserve(getBooking(2L, 1L, 3, 5));
+        availabilityIndex.tryReserve(getBooking(3L, 1L, 5, 6));
+        availabilityIndex.tryReserve(getBooking(4L, 1L, 8, 12));
+        availabilityIndex.tryReserve(getBooking(5L, 2L, 0, 10));
+
+        List<FreeSlotDto> slots = availabilityIndex.freeSlots(1L, START, START.plusDays(10));
+
+        assertThat(slots, contains(
+                allOf(hasProperty("start", equalTo(START.plusDays(1))), hasProperty("end", equalTo(START.plusDays(3)))),
+                allOf(hasProperty("start", equalTo(START.plusDays(6))), hasProperty("end", equalTo(START.plusDays(8))))
+        ));
+    }
+
+    @Test
+    void freeSlotsShouldReturnWholeWindowForItemWithoutBookings() {
+        availabilityIndex.tryReserve(getBooking(1L, 1L, 0, 5));
+
+        assertThat(availabilityIndex.freeSlots(2L, START, START.plusDays(5)), contains(allOf(
+                hasProperty("start", equalTo(START)),
+                hasProperty("end", equalTo(START.plusDays(5)))
+        )));
+        assertThat(availabilityIndex.freeSlots(1L, START.plusDays(1), START.plusDays(4)), empty());
+    }
+
+    @Test
+    void freeSlotsShouldReflectReleasedBookings() {
+        Booking booking = getBooking(1L, 1L, 2, 4);
+        availabilityIndex.tryReserve(booking);
+
+        availabilityIndex.release(booking);
+
+        assertThat(availabilityIndex.freeSlots(1L, START, START.plusDays(5)), hasSize(1));
+    }
+
+    @Test
+    void warmUpShouldLoadIntervalsFromRepository() {
+        when(bookingRepository.findAllIntervalsByStatusNotIn(any()))
+                .thenReturn(List.of(getInterval(1L, 1L, 0, 5), getInterval(2L, 1L, 3, 8)));
+
+        availabilityIndex.warmUp();
+
+        assertFalse(availabilityIndex.isAvailable(1L, START.plusDays(7), START.plusDays(9)));
+        assertTrue(availabilityIndex.isAvailable(1L, START.plusDays(8), START.plusDays(9)));
+    }
+
+    @Test
+    void checkConsistencyShouldReportMismatchedItemsWithoutChangingIndex() {
+        availabilityIndex.tryReserve(getBooking(1L, 1L, 0, 5));
+        availabilityIndex.tryReserve(getBooking(2L, 2L, 0, 5));
+
+        when(bookingRepository.findAllIntervalsByStatusNotIn(any()))
+                .thenReturn(List.of(getInterval(1L, 1L, 0, 5), getInterval(3L, 3L, 0, 5)));
+
+        assertThat(availabilityIndex.checkConsistency(), contains(2L, 3L));
+        assertFalse(availabilityIndex.isAvailable(2L, START, START.plusDays(5)));
+        assertTrue(availabilityIndex.isAvailable(3L, START, START.plusDays(5)));
+
+        assertThat(availabilityIndex.checkConsistency(), contains(2L, 3L));
+    }
+
+    @Test
+    void checkConsistencyShouldReturnEmptySetForEmptyIndex() {
+        when(bookingRepository.findAllIntervalsByStatusNotIn(any()))
+                .thenReturn(Collections.emptyList());
+
+        assertThat(availabilityIndex.checkConsistency(), empty());
+    }
+}
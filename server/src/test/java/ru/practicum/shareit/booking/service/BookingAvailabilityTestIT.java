@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(properties = "db.name=booking-availability", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingAvailabilityTestIT {
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    private static UserRequestDto getUserDto(String email) {
+        return UserRequestDto.builder()
+                .name("Дима")
+                .email(email)
+                .build();
+    }
+
+    private static ItemRequestDto getItemDto() {
+        return ItemRequestDto.builder()
+                .name("Грабли")
+                .description("Грабли для уборки листвы")
+                .available(true)
+                .build();
+    }
+
+    @Test
+    void rejectedBookingShouldFreePeriodAfterCommit() {
+        UserRequestDto user = userService.createNewUser(getUserDto("dima@yandex.ru"));
+        UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
+        ItemShortResponseDto item = itemService.createNewItem(getItemDto(), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(10);
+        BookingResponseDto booking = bookingService.createNewBooking(BookingRequestDto.builder()
+                .status(BookingStatus.WAITING)
+                .startDate(start)
+                .endDate(end)
+                .itemId(item.getId())
+                .build(), user.getId());
+
+        assertThat(availabilityIndex.isAvailable(item.getId(), start, end), is(false));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            bookingService.approveBooking(booking.getId(), false, owner.getId());
+            assertThat(availabilityIndex.isAvailable(item.getId(), start, end), is(false));
+        });
+
+        assertThat(availabilityIndex.isAvailable(item.getId(), start, end), is(true));
+        assertThat(availabilityIndex.freeSlots(item.getId(), start, end), contains(allOf(
+                hasProperty("start", equalTo(start)),
+                hasProperty("end", equalTo(end)))));
+        assertThat(availabilityIndex.checkConsistency(), empty());
+    }
+}
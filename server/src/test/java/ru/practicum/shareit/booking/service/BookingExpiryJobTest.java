@@ -0,0 +1,145 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExpiryJobTest {
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+    @Mock
+    private BookingSummaryCache summaryCache;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BookingExpiryJob expiryJob;
+
+    private static Booking getBooking(long id) {
+        return Booking.builder()
+                .id(id)
+                .item(Item.builder().id(1L).build())
+                .status(BookingStatus.WAITING)
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        expiryJob = new BookingExpiryJob(bookingRepository, availabilityIndex, summaryCache,
+                new TransactionTemplate(transactionManager), meterRegistry, 2, Duration.ZERO);
+    }
+
+    @Test
+    void expireStaleBookingsShouldCancelBookingsChunkByChunk() {
+        Booking first = getBooking(1L);
+        Booking second = getBooking(2L);
+        Booking third = getBooking(3L);
+
+        when(bookingRepository.findAllByStatusAndStartDateBeforeOrderById(eq(BookingStatus.WAITING), any(),
+                eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+        when(bookingRepository.updateStatusByIdInAndStatus(List.of(1L, 2L), BookingStatus.WAITING,
+                BookingStatus.CANCELLED))
+                .thenReturn(2);
+        when(bookingRepository.updateStatusByIdInAndStatus(List.of(3L), BookingStatus.WAITING,
+                BookingStatus.CANCELLED))
+                .thenReturn(1);
+
+        int expired = expiryJob.expireStaleBookings();
+
+        assertThat(expired, equalTo(3));
+        verify(availabilityIndex, times(3)).release(any());
+        verify(bookingRepository, never()).findAllById(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(summaryCache, times(1)).evictAll();
+        assertThat(meterRegistry.counter("shareit.bookings.expired").count(), equalTo(3.0));
+        assertThat(meterRegistry.timer("shareit.bookings.expiry").count(), equalTo(1L));
+    }
+
+    @Test
+    void expireStaleBookingsShouldReleaseOnlyBookingsCancelledByJob() {
+        Booking first = getBooking(1L);
+        Booking second = getBooking(2L);
+        Booking approved = getBooking(2L);
+        approved.setStatus(BookingStatus.APPROVED);
+        Booking cancelled = getBooking(1L);
+        cancelled.setStatus(BookingStatus.CANCELLED);
+
+        when(bookingRepository.findAllByStatusAndStartDateBeforeOrderById(eq(BookingStatus.WAITING), any(), any()))
+                .thenReturn(List.of(first, second))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.updateStatusByIdInAndStatus(List.of(1L, 2L), BookingStatus.WAITING,
+                BookingStatus.CANCELLED))
+                .thenReturn(1);
+        when(bookingRepository.findAllById(List.of(1L, 2L)))
+                .thenReturn(List.of(cancelled, approved));
+
+        assertThat(expiryJob.expireStaleBookings(), equalTo(1));
+        verify(availabilityIndex, times(1)).release(cancelled);
+        verify(availabilityIndex, never()).release(approved);
+    }
+
+    @Test
+    void expireStaleBookingsShouldStopWhenNothingIsStale() {
+        when(bookingRepository.findAllByStatusAndStartDateBeforeOrderById(eq(BookingStatus.WAITING), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        assertThat(expiryJob.expireStaleBookings(), equalTo(0));
+        verify(bookingRepository, never()).updateStatusByIdInAndStatus(any(), any(), any());
+        verifyNoInteractions(availabilityIndex, summaryCache);
+        assertThat(meterRegistry.timer("shareit.bookings.expiry").count(), equalTo(1L));
+    }
+
+    @Test
+    void expireStaleBookingsShouldContinueAfterShortCancelledChunk() {
+        Booking first = getBooking(1L);
+        Booking second = getBooking(2L);
+        Booking third = getBooking(3L);
+        Booking cancelled = getBooking(1L);
+        cancelled.setStatus(BookingStatus.CANCELLED);
+        Booking approved = getBooking(2L);
+        approved.setStatus(BookingStatus.APPROVED);
+
+        when(bookingRepository.findAllByStatusAndStartDateBeforeOrderById(eq(BookingStatus.WAITING), any(), any()))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+        when(bookingRepository.updateStatusByIdInAndStatus(List.of(1L, 2L), BookingStatus.WAITING,
+                BookingStatus.CANCELLED))
+                .thenReturn(1);
+        when(bookingRepository.findAllById(List.of(1L, 2L)))
+                .thenReturn(List.of(cancelled, approved));
+        when(bookingRepository.updateStatusByIdInAndStatus(List.of(3L), BookingStatus.WAITING,
+                BookingStatus.CANCELLED))
+                .thenReturn(1);
+
+        assertThat(expiryJob.expireStaleBookings(), equalTo(2));
+        verify(bookingRepository, times(2)).findAllByStatusAndStartDateBeforeOrderById(any(), any(), any());
+        verify(availabilityIndex, times(1)).release(cancelled);
+        verify(availabilityIndex, times(1)).release(third);
+        assertThat(meterRegistry.counter("shareit.bookings.expired").count(), equalTo(2.0));
+    }
+}
@@ -9,13 +9,15 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.GetBookingRequest;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -30,11 +32,16 @@ import ru.practicum.shareit.user.dto.UserShortResponseDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -53,6 +60,12 @@ class BookingServiceImplTest {
     private ItemRepository itemRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+    @Mock
+    private BookingSummaryCache summaryCache;
+    @Mock
+    private EntityManager entityManager;
     @InjectMocks
     private BookingServiceImpl bookingService;
     @Captor
@@ -97,6 +110,29 @@ class BookingServiceImplTest {
                 .build();
     }
 
+    @Test
+    void exportUserBookingsShouldMapEveryBookingAndClearContextAfterEachFetch() {
+        User owner = getUser(1L, "dima@yandex.ru");
+        User booker = getUser(2L, "fima@yandex.ru");
+        Booking rented = getBooking(booker, getItem(owner, true));
+        List<Booking> bookings = Collections.nCopies(BookingServiceImpl.EXPORT_FETCH_SIZE + 1, rented);
+        AtomicBoolean closed = new AtomicBoolean();
+        List<BookingResponseDto> exported = new ArrayList<>();
+
+        when(bookingRepository.streamNewestFirst(predicateArgumentCaptor.capture(), anyInt()))
+                .thenReturn(bookings.stream().onClose(() -> closed.set(true)));
+
+        bookingService.exportUserBookings(GetBookingRequest.of(State.WAITING, owner.getId(), true), exported::add);
+
+        assertThat(exported, hasSize(bookings.size()));
+        assertThat(exported.get(0).getId(), equalTo(rented.getId()));
+        assertThat(closed.get(), is(true));
+        assertThat(predicateArgumentCaptor.getValue(), equalTo(ExpressionUtils.allOf(
+                booking.owner.id.eq(owner.getId()), booking.status.eq(BookingStatus.WAITING))));
+        verify(bookingRepository, times(1)).streamNewestFirst(any(), eq(BookingServiceImpl.EXPORT_FETCH_SIZE));
+        verify(entityManager, times(1)).clear();
+    }
+
     @Test
     void addBookingShouldThrowItemNotFoundException() {
         BookingRequestDto bookingRequestDto = getBookingRequestDto();
@@ -168,8 +204,12 @@ class BookingServiceImplTest {
                 .thenReturn(Optional.of(item));
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user));
+        when(availabilityIndex.isAvailable(anyLong(), any(), any()))
+                .thenReturn(true);
         when(bookingRepository.save(any()))
                 .thenReturn(booking);
+        when(availabilityIndex.tryReserve(any()))
+                .thenReturn(true);
 
         BookingResponseDto result = bookingService.createNewBooking(bookingRequestDto, 1L);
 
@@ -185,6 +225,48 @@ class BookingServiceImplTest {
         verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
     }
 
+    @Test
+    void addBookingShouldThrowItemNotAvailableExWhenPeriodIsTaken() {
+        User user = getUser(1L, "dima@yandex.ru");
+        User owner = getUser(2L, "fima@yandex.ru");
+        Item item = getItem(owner, true);
+        BookingRequestDto bookingRequestDto = getBookingRequestDto();
+
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(availabilityIndex.isAvailable(anyLong(), any(), any()))
+                .thenReturn(false);
+
+        ItemNotAvailableException exception = assertThrows(ItemNotAvailableException.class, ()
+                -> bookingService.createNewBooking(bookingRequestDto, 1L));
+        assertThat(exception.getMessage(), containsString("Вещь с id: 1 уже забронирована на указанный период"));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void addBookingShouldThrowItemNotAvailableExWhenReservationLost() {
+        User user = getUser(1L, "dima@yandex.ru");
+        User owner = getUser(2L, "fima@yandex.ru");
+        Item item = getItem(owner, true);
+        BookingRequestDto bookingRequestDto = getBookingRequestDto();
+        Booking booking = BookingMapper.bookingRequestDtoToBooking(bookingRequestDto, item, user);
+
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(availabilityIndex.isAvailable(anyLong(), any(), any()))
+                .thenReturn(true);
+        when(bookingRepository.save(any()))
+                .thenReturn(booking);
+        when(availabilityIndex.tryReserve(any()))
+                .thenReturn(false);
+
+        assertThrows(ItemNotAvailableException.class, () -> bookingService.createNewBooking(bookingRequestDto, 1L));
+    }
+
     @Test
     void getBookingByIdShouldThrowBookingNotFoundEx() {
         when(bookingRepository.findBooking(anyLong(), anyLong()))
@@ -249,11 +331,12 @@ class BookingServiceImplTest {
 
         when(bookingRepository.findBookingByOwner(anyLong(), anyLong()))
                 .thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any()))
-                .thenReturn(booking);
+        when(bookingRepository.updateStatusByIdInAndStatus(any(), any(), any()))
+                .thenReturn(1);
 
         BookingResponseDto rejected = bookingService.approveBooking(1L, false, 1L);
         assertThat(rejected.getStatus(), equalTo(BookingStatus.REJECTED));
+        verify(availabilityIndex, times(1)).release(booking);
         booking.setStatus(BookingStatus.WAITING);
         BookingResponseDto approved = bookingService.approveBooking(1L, true, 1L);
         assertThat(approved.getStatus(), equalTo(BookingStatus.APPROVED));
@@ -267,20 +350,156 @@ class BookingServiceImplTest {
 
         when(bookingRepository.findBookingByOwner(anyLong(), anyLong()))
                 .thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any()))
-                .thenReturn(booking);
+        when(bookingRepository.updateStatusByIdInAndStatus(List.of(1L), BookingStatus.WAITING,
+                BookingStatus.APPROVED))
+                .thenReturn(1);
         BookingResponseDto approved = bookingService.approveBooking(1L, true, 1L);
         assertThat(approved.getStatus(), equalTo(BookingStatus.APPROVED));
+        verify(summaryCache, times(1)).evict(booking);
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void approveBookingShouldThrowResponseStatusExWhenBookingStoppedWaiting() {
+        User user = getUser(1L, "fima@yandex.ru");
+        Item item = getItem(null, true);
+        Booking booking = getBooking(user, item);
+
+        when(bookingRepository.findBookingByOwner(anyLong(), anyLong()))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.updateStatusByIdInAndStatus(List.of(1L), BookingStatus.WAITING,
+                BookingStatus.APPROVED))
+                .thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, ()
+                -> bookingService.approveBooking(1L, true, 1L));
+        assertThat(exception.getStatus(), equalTo(HttpStatus.BAD_REQUEST));
+        assertThat(exception.getMessage(), containsString("Бронь с id: 1 больше не ожидает подтверждения"));
+        verifyNoInteractions(summaryCache, availabilityIndex);
+    }
+
+    @Test
+    void approveBookingsShouldUpdateEachStatusInOneStatementAndReportErrors() {
+        User user = getUser(1L, "fima@yandex.ru");
+        Item item = getItem(getUser(2L, "dima@yandex.ru"), true);
+        Booking approved = getBooking(user, item);
+        Booking rejected = getBooking(user, item);
+        rejected.setId(2L);
+        Booking decided = getBooking(user, item);
+        decided.setId(3L);
+        decided.setStatus(BookingStatus.APPROVED);
+
+        when(bookingRepository.findAllBookingsByOwner(Set.of(1L, 2L, 3L, 4L), 2L))
+                .thenReturn(List.of(approved, rejected, decided));
+        when(bookingRepository.updateStatusByIdInAndStatus(anyList(), eq(BookingStatus.WAITING), any()))
+                .thenReturn(1);
+
+        List<BookingDecisionResultDto> results = bookingService.approveBookings(List.of(
+                BookingDecisionDto.builder().bookingId(1L).approved(true).build(),
+                BookingDecisionDto.builder().bookingId(2L).approved(false).build(),
+                BookingDecisionDto.builder().bookingId(3L).approved(false).build(),
+                BookingDecisionDto.builder().bookingId(4L).approved(true).build(),
+                BookingDecisionDto.builder().bookingId(1L).approved(false).build()), 2L);
+
+        assertThat(results, contains(
+                hasProperty("booking", hasProperty("status", equalTo(BookingStatus.APPROVED))),
+                hasProperty("booking", hasProperty("status", equalTo(BookingStatus.REJECTED))),
+                hasProperty("error", equalTo("Невозможно изменить статус аренды после подтверждения")),
+                hasProperty("error", equalTo("Бронь с id: 4 для владельца с id: 2 не обнаружена")),
+                hasProperty("error", equalTo("Невозможно изменить статус аренды после подтверждения"))
+        ));
+        verify(bookingRepository, times(1))
+                .updateStatusByIdInAndStatus(List.of(1L), BookingStatus.WAITING, BookingStatus.APPROVED);
+        verify(bookingRepository, times(1))
+                .updateStatusByIdInAndStatus(List.of(2L), BookingStatus.WAITING, BookingStatus.REJECTED);
+        verify(bookingRepository, never()).findAllById(any());
+        verify(bookingRepository, never()).save(any());
+        verify(availabilityIndex, times(1)).release(rejected);
+        verify(summaryCache, times(2)).evict(any());
+    }
+
+    @Test
+    void approveBookingsShouldSkipUpdateWhenNothingToChange() {
+        when(bookingRepository.findAllBookingsByOwner(Set.of(1L), 2L))
+                .thenReturn(Collections.emptyList());
+
+        List<BookingDecisionResultDto> results = bookingService.approveBookings(List.of(
+                BookingDecisionDto.builder().bookingId(1L).approved(true).build()), 2L);
+
+        assertThat(results, contains(hasProperty("error", notNullValue())));
+        verify(bookingRepository, never()).updateStatusByIdInAndStatus(any(), any(), any());
+        verifyNoInteractions(summaryCache, availabilityIndex);
+    }
+
+    @Test
+    void approveBookingsShouldReportBookingsThatStoppedWaitingBeforeUpdate() {
+        User user = getUser(1L, "fima@yandex.ru");
+        Item item = getItem(getUser(2L, "dima@yandex.ru"), true);
+        Booking approved = getBooking(user, item);
+        Booking expired = getBooking(user, item);
+        expired.setId(2L);
+        Booking expiredNow = getBooking(user, item);
+        expiredNow.setId(2L);
+        expiredNow.setStatus(BookingStatus.CANCELLED);
+        Booking approvedNow = getBooking(user, item);
+        approvedNow.setStatus(BookingStatus.APPROVED);
+
+        when(bookingRepository.findAllBookingsByOwner(Set.of(1L, 2L), 2L))
+                .thenReturn(List.of(approved, expired));
+        when(bookingRepository.updateStatusByIdInAndStatus(List.of(1L, 2L), BookingStatus.WAITING,
+                BookingStatus.APPROVED))
+                .thenReturn(1);
+        when(bookingRepository.findAllById(List.of(1L, 2L)))
+                .thenReturn(List.of(approvedNow, expiredNow));
+
+        List<BookingDecisionResultDto> results = bookingService.approveBookings(List.of(
+                BookingDecisionDto.builder().bookingId(1L).approved(true).build(),
+                BookingDecisionDto.builder().bookingId(2L).approved(true).build()), 2L);
+
+        assertThat(results, contains(
+                allOf(
+                        hasProperty("booking", hasProperty("status", equalTo(BookingStatus.APPROVED))),
+                        hasProperty("error", nullValue())),
+                allOf(
+                        hasProperty("booking", nullValue()),
+                        hasProperty("error", equalTo("Бронь с id: 2 больше не ожидает подтверждения")))
+        ));
+        verify(summaryCache, times(1)).evict(approved);
+        verify(summaryCache, never()).evict(expired);
+        verifyNoInteractions(availabilityIndex);
+    }
+
+    @Test
+    void getUserBookingsSummaryShouldCountAllStatesInOneQuery() {
+        when(summaryCache.get(eq(1L), eq(true), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<BookingSummaryDto>>getArgument(2).get());
+        when(bookingRepository.countMatching(any(), anyList()))
+                .thenReturn(List.of(15L, 1L, 2L, 3L, 4L, 5L));
+
+        BookingSummaryDto summary = bookingService.getUserBookingsSummary(1L, true);
+
+        assertThat(summary, allOf(
+                hasProperty("all", equalTo(15L)),
+                hasProperty("current", equalTo(1L)),
+                hasProperty("past", equalTo(2L)),
+                hasProperty("future", equalTo(3L)),
+                hasProperty("waiting", equalTo(4L)),
+                hasProperty("rejected", equalTo(5L))
+        ));
+        verify(bookingRepository, times(1)).countMatching(eq(booking.owner.id.eq(1L)),
+                argThat(conditions -> conditions.size() == 5
+                        && conditions.get(3).equals(booking.status.eq(BookingStatus.WAITING))
+                        && conditions.get(4).equals(booking.status.eq(BookingStatus.REJECTED))));
     }
 
     @Test
     void getAllUserBookingsShouldThrowBookingNotFoundEx() {
         List<Predicate> predicates = new ArrayList<>();
         PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startDate"));
-        predicates.add(booking.item.owner.id.eq(1L));
+        predicates.add(booking.owner.id.eq(1L));
 
-        when(bookingRepository.findAll(Objects.requireNonNull(ExpressionUtils.allOf(predicates)), pageRequest))
-                .thenReturn(Page.empty());
+        when(bookingRepository.findAllWithItemAndBooker(Objects.requireNonNull(ExpressionUtils.allOf(predicates)), pageRequest))
+                .thenReturn(Collections.emptyList());
         GetBookingRequest getBookingRequest = GetBookingRequest.of(State.ALL, 1L, true);
 
         BookingNotFoundException bookingNotFoundException = assertThrows(BookingNotFoundException.class, ()
@@ -300,9 +519,9 @@ class BookingServiceImplTest {
         Booking booking = getBooking(user, item);
         booking.setStatus(BookingStatus.REJECTED);
 
-        Page<Booking> bookings = new PageImpl<>(List.of(booking));
+        List<Booking> bookings = List.of(booking);
 
-        when(bookingRepository.findAll(Objects.requireNonNull(ExpressionUtils.allOf(predicates)), pageRequest))
+        when(bookingRepository.findAllWithItemAndBooker(Objects.requireNonNull(ExpressionUtils.allOf(predicates)), pageRequest))
                 .thenReturn(bookings);
         GetBookingRequest getBookingRequest = GetBookingRequest.of(State.REJECTED, 1L, false);
 
@@ -325,9 +544,9 @@ class BookingServiceImplTest {
         Item item = getItem(null, true);
         Booking booking = getBooking(user, item);
 
-        Page<Booking> bookings = new PageImpl<>(List.of(booking));
+        List<Booking> bookings = List.of(booking);
 
-        when(bookingRepository.findAll(Objects.requireNonNull(ExpressionUtils.allOf(predicates)), pageRequest))
+        when(bookingRepository.findAllWithItemAndBooker(Objects.requireNonNull(ExpressionUtils.allOf(predicates)), pageRequest))
                 .thenReturn(bookings);
         GetBookingRequest getBookingRequest = GetBookingRequest.of(State.WAITING, 1L, false);
         List<BookingResponseDto> result = bookingService.getAllUserBookings(getBookingRequest, pageRequest);
@@ -347,10 +566,10 @@ class BookingServiceImplTest {
         Item item = getItem(null, true);
         Booking booking = getBooking(user, item);
 
-        Page<Booking> bookings = new PageImpl<>(List.of(booking));
+        List<Booking> bookings = List.of(booking);
         GetBookingRequest getBookingRequest = GetBookingRequest.of(State.FUTURE, 1L, false);
 
-        when(bookingRepository.findAll(predicateArgumentCaptor.capture(), eq(pageRequest)))
+        when(bookingRepository.findAllWithItemAndBooker(predicateArgumentCaptor.capture(), eq(pageRequest)))
                 .thenReturn(bookings);
         List<BookingResponseDto> result = bookingService.getAllUserBookings(getBookingRequest, pageRequest);
 
@@ -367,10 +586,10 @@ class BookingServiceImplTest {
         Item item = getItem(null, true);
         Booking booking = getBooking(user, item);
 
-        Page<Booking> bookings = new PageImpl<>(List.of(booking));
+        List<Booking> bookings = List.of(booking);
         GetBookingRequest request = GetBookingRequest.of(State.CURRENT, 1L, false);
 
-        when(bookingRepository.findAll(predicateArgumentCaptor.capture(), eq(pageRequest)))
+        when(bookingRepository.findAllWithItemAndBooker(predicateArgumentCaptor.capture(), eq(pageRequest)))
                 .thenReturn(bookings);
         List<BookingResponseDto> result = bookingService.getAllUserBookings(request, pageRequest);
 
@@ -390,10 +609,10 @@ class BookingServiceImplTest {
         Item item = getItem(null, true);
         Booking booking = getBooking(user, item);
 
-        Page<Booking> bookings = new PageImpl<>(List.of(booking));
+        List<Booking> bookings = List.of(booking);
         GetBookingRequest request = GetBookingRequest.of(State.PAST, 1L, false);
 
-        when(bookingRepository.findAll(predicateArgumentCaptor.capture(), eq(pageRequest)))
+        when(bookingRepository.findAllWithItemAndBooker(predicateArgumentCaptor.capture(), eq(pageRequest)))
                 .thenReturn(bookings);
         List<BookingResponseDto> result = bookingService.getAllUserBookings(request, pageRequest);
 
@@ -1,27 +1,46 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.GetBookingRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.booking.status.State;
+import ru.practicum.shareit.exception.ItemNotAvailableException;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemShortResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doAnswer;
 
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -30,6 +49,11 @@ class BookingServiceImplTestIT {
     private final BookingService bookingService;
     private final ItemService itemService;
     private final UserService userService;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingExpiryJob expiryJob;
+    private final EntityManager entityManager;
+    @SpyBean
+    private BookingRepository bookingRepository;
 
     private static UserRequestDto getUserDto(String email) {
         return UserRequestDto.builder()
@@ -175,4 +199,250 @@ class BookingServiceImplTestIT {
 
         assertThat(rejectedResult.getStatus(), equalTo(BookingStatus.REJECTED));
     }
-}
\ No newline at end of file
+
+    @Test
+    void approveBookingShouldNotOverwriteBookingExpiredAfterItWasRead() {
+        UserRequestDto user = userService.createNewUser(getUserDto("dima@yandex.ru"));
+        UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
+        ItemShortResponseDto item = itemService.createNewItem(getItemDto(), owner.getId());
+        BookingResponseDto booking = bookingService.createNewBooking(getBookingRequestDto(item.getId()), user.getId());
+
+        doAnswer(invocation -> {
+            Booking waiting = entityManager.find(Booking.class, booking.getId());
+            assertThat(expiryJob.expireStaleBookings(), equalTo(1));
+            return Optional.of(waiting);
+        }).when(bookingRepository).findBookingByOwner(booking.getId(), owner.getId());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> bookingService.approveBooking(booking.getId(), true, owner.getId()));
+        entityManager.clear();
+
+        assertThat(exception.getStatus(), equalTo(HttpStatus.BAD_REQUEST));
+        assertThat(bookingService.getBookingByUserId(booking.getId(), owner.getId()).getStatus(),
+                equalTo(BookingStatus.CANCELLED));
+    }
+
+    @Test
+    void createNewBookingShouldRejectOverlappingPeriod() {
+        UserRequestDto user = userService.createNewUser(getUserDto("dima@yandex.ru"));
+        UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
+        ItemShortResponseDto item = itemService.createNewItem(getItemDto(), owner.getId());
+        bookingService.createNewBooking(getBookingRequestDto(item.getId()), user.getId());
+        BookingRequestDto overlapping = getBookingRequestDto(item.getId());
+        overlapping.setStartDate(LocalDateTime.now().plusDays(5));
+        overlapping.setEndDate(LocalDateTime.now().plusDays(15));
+
+        assertThrows(ItemNotAvailableException.class, ()
+                -> bookingService.createNewBooking(overlapping, user.getId()));
+        assertThat(availabilityIndex.checkConsistency(), empty());
+    }
+
+    @Test
+    void getAllUserBookingsAfterShouldWalkAllPagesInOffsetOrder() {
+        UserRequestDto user = userService.createNewUser(getUserDto("dima@yandex.ru"));
+        UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
+        ItemShortResponseDto firstItem = itemService.createNewItem(getItemDto(), owner.getId());
+        ItemShortResponseDto secondItem = itemService.createNewItem(getItemDto(), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        for (int i = 0; i < 3; i++) {
+            for (ItemShortResponseDto item : List.of(firstItem, secondItem)) {
+                BookingRequestDto bookingRequestDto = getBookingRequestDto(item.getId());
+                bookingRequestDto.setStartDate(start.plusDays(i));
+                bookingRequestDto.setEndDate(start.plusDays(i).plusHours(1));
+                bookingService.createNewBooking(bookingRequestDto, user.getId());
+            }
+        }
+
+        for (GetBookingRequest request : List.of(GetBookingRequest.of(State.ALL, user.getId(), false),
+                GetBookingRequest.of(State.FUTURE, owner.getId(), true))) {
+            List<BookingResponseDto> expected = bookingService.getAllUserBookings(request,
+                    PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startDate", "id")));
+            List<BookingResponseDto> firstPage = bookingService.getAllUserBookings(request,
+                    PageRequest.of(0, 4, Sort.by(Sort.Direction.DESC, "startDate", "id")));
+            List<BookingResponseDto> secondPage = bookingService.getAllUserBookingsAfter(request,
+                    KeysetCursor.of(firstPage.get(3).getStartDate(), firstPage.get(3).getId()), 4);
+            List<BookingResponseDto> lastPage = bookingService.getAllUserBookingsAfter(request,
+                    KeysetCursor.of(secondPage.get(1).getStartDate(), secondPage.get(1).getId()), 4);
+
+            assertThat(expected, hasSize(6));
+            assertThat(secondPage.stream().map(BookingResponseDto::getId).collect(Collectors.toList()),
+                    contains(expected.get(4).getId(), expected.get(5).getId()));
+            assertThat(lastPage, empty());
+        }
+    }
+
+    @Test
+    void getAllUserBookingsShouldLoadPageInSingleStatement() {
+        UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        for (int i = 0; i < 3; i++) {
+            UserRequestDto booker = userService.createNewUser(getUserDto(String.format("dima%s@yandex.ru", i)));
+            ItemShortResponseDto item = itemService.createNewItem(getItemDto(), owner.getId());
+            BookingRequestDto bookingRequestDto = getBookingRequestDto(item.getId());
+            bookingRequestDto.setStartDate(start.plusDays(i));
+            bookingRequestDto.setEndDate(start.plusDays(i).plusHours(1));
+            bookingService.createNewBooking(bookingRequestDto, booker.getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        GetBookingRequest request = GetBookingRequest.of(State.ALL, owner.getId(), true);
+        List<BookingResponseDto> firstPage = bookingService.getAllUserBookings(request,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "startDate", "id")));
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+
+        List<BookingResponseDto> secondPage = bookingService.getAllUserBookingsAfter(request,
+                KeysetCursor.of(firstPage.get(1).getStartDate(), firstPage.get(1).getId()), 2);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+        assertThat(firstPage, hasSize(2));
+        assertThat(secondPage, hasSize(1));
+        assertThat(firstPage.get(0).getBooker().getName(), equalTo("Дима"));
+        assertThat(secondPage.get(0).getItem().getName(), equalTo("Грабли"));
+    }
+
+    @Test
+    void exportUserBookingsShouldStreamAllBookingsInSingleStatement() {
+        UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        for (int i = 0; i < 3; i++) {
+            UserRequestDto booker = userService.createNewUser(getUserDto(String.format("dima%s@yandex.ru", i)));
+            ItemShortResponseDto item = itemService.createNewItem(getItemDto(), owner.getId());
+            BookingRequestDto bookingRequestDto = getBookingRequestDto(item.getId());
+            bookingRequestDto.setStartDate(start.plusDays(i));
+            bookingRequestDto.setEndDate(start.plusDays(i).plusHours(1));
+            bookingService.createNewBooking(bookingRequestDto, booker.getId());
+        }
+
+        GetBookingRequest request = GetBookingRequest.of(State.ALL, owner.getId(), true);
+        List<Long> expected = bookingService.getAllUserBookings(request,
+                        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startDate", "id"))).stream()
+                .map(BookingResponseDto::getId)
+                .collect(Collectors.toList());
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<BookingResponseDto> exported = new ArrayList<>();
+
+        bookingService.exportUserBookings(request, exported::add);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(exported.stream().map(BookingResponseDto::getId).collect(Collectors.toList()), equalTo(expected));
+        assertThat(exported.get(0).getBooker().getName(), equalTo("Дима"));
+        assertThat(exported.get(0).getItem().getName(), equalTo("Грабли"));
+    }
+
+    @Test
+    void getUserBookingsSummaryShouldCountStatesAndRefreshAfterApprove() {
+        UserRequestDto user = userService.createNewUser(getUserDto("dima@yandex.ru"));
+        UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
+        ItemShortResponseDto item = itemService.createNewItem(getItemDto(), owner.getId());
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingResponseDto> bookings = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            BookingRequestDto bookingRequestDto = getBookingRequestDto(item.getId());
+            bookingRequestDto.setStartDate(now.plusDays(i * 3 - 2));
+            bookingRequestDto.setEndDate(now.plusDays(i * 3 - 1));
+            bookings.add(bookingService.createNewBooking(bookingRequestDto, user.getId()));
+        }
+
+        BookingSummaryDto summary = bookingService.getUserBookingsSummary(owner.getId(), true);
+
+        assertThat(summary, allOf(
+                hasProperty("all", equalTo(3L)),
+                hasProperty("past", equalTo(1L)),
+                hasProperty("current", equalTo(0L)),
+                hasProperty("future", equalTo(2L)),
+                hasProperty("waiting", equalTo(3L)),
+                hasProperty("rejected", equalTo(0L))
+        ));
+
+        bookingService.approveBooking(bookings.get(2).getId(), false, owner.getId());
+
+        assertThat(bookingService.getUserBookingsSummary(owner.getId(), true), allOf(
+                hasProperty("waiting", equalTo(2L)),
+                hasProperty("rejected", equalTo(1L))
+        ));
+        assertThat(bookingService.getUserBookingsSummary(user.getId(), false).getRejected(), equalTo(1L));
+    }
+
+    @Test
+    void approveBookingsShouldCheckOwnerInOneQueryAndUpdateInBulk() {
+        UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
+        UserRequestDto stranger = userService.createNewUser(getUserDto("sima@yandex.ru"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            UserRequestDto booker = userService.createNewUser(getUserDto(String.format("dima%s@yandex.ru", i)));
+            ItemShortResponseDto item = itemService.createNewItem(getItemDto(),
+                    i < 3 ? owner.getId() : stranger.getId());
+            BookingRequestDto bookingRequestDto = getBookingRequestDto(item.getId());
+            bookingRequestDto.setStartDate(start.plusDays(i));
+            bookingRequestDto.setEndDate(start.plusDays(i).plusHours(1));
+            bookingIds.add(bookingService.createNewBooking(bookingRequestDto, booker.getId()).getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingDecisionResultDto> results = bookingService.approveBookings(List.of(
+                BookingDecisionDto.builder().bookingId(bookingIds.get(0)).approved(true).build(),
+                BookingDecisionDto.builder().bookingId(bookingIds.get(1)).approved(true).build(),
+                BookingDecisionDto.builder().bookingId(bookingIds.get(2)).approved(false).build(),
+                BookingDecisionDto.builder().bookingId(bookingIds.get(3)).approved(true).build()), owner.getId());
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(3L));
+        assertThat(results.get(0).getBooking().getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(results.get(1).getBooking().getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(results.get(2).getBooking().getStatus(), equalTo(BookingStatus.REJECTED));
+        assertThat(results.get(3).getError(), notNullValue());
+        assertThat(bookingService.getBookingByUserId(bookingIds.get(2), owner.getId()).getStatus(),
+                equalTo(BookingStatus.REJECTED));
+        assertThat(bookingService.getBookingByUserId(bookingIds.get(3), stranger.getId()).getStatus(),
+                equalTo(BookingStatus.WAITING));
+    }
+
+    @Test
+    void expireStaleBookingsShouldCancelOnlyStartedWaitingBookings() {
+        UserRequestDto user = userService.createNewUser(getUserDto("dima@yandex.ru"));
+        UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
+        ItemShortResponseDto item = itemService.createNewItem(getItemDto(), owner.getId());
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> bookingIds = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            BookingRequestDto bookingRequestDto = getBookingRequestDto(item.getId());
+            bookingRequestDto.setStartDate(now.plusDays(i * 3 - 4));
+            bookingRequestDto.setEndDate(now.plusDays(i * 3 - 2));
+            bookingIds.add(bookingService.createNewBooking(bookingRequestDto, user.getId()).getId());
+        }
+
+        bookingService.approveBooking(bookingIds.get(0), true, owner.getId());
+
+        assertThat(expiryJob.expireStaleBookings(), equalTo(1));
+        assertThat(bookingService.getBookingByUserId(bookingIds.get(0), owner.getId()).getStatus(),
+                equalTo(BookingStatus.APPROVED));
+        assertThat(bookingService.getBookingByUserId(bookingIds.get(1), owner.getId()).getStatus(),
+                equalTo(BookingStatus.CANCELLED));
+        assertThat(bookingService.getBookingByUserId(bookingIds.get(2), owner.getId()).getStatus(),
+                equalTo(BookingStatus.WAITING));
+        assertThrows(ResponseStatusException.class,
+                () -> bookingService.approveBooking(bookingIds.get(1), true, owner.getId()));
+        assertThat(expiryJob.expireStaleBookings(), equalTo(0));
+    }
+}
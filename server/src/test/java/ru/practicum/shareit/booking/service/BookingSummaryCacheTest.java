@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class BookingSummaryCacheTest {
+    private final BookingSummaryCache summaryCache = new BookingSummaryCache(100, Duration.ofMinutes(1));
+
+    private static BookingSummaryDto getSummary(long all) {
+        return BookingSummaryDto.builder()
+                .all(all)
+                .build();
+    }
+
+    @Test
+    void getShouldLoadSummaryOncePerUserAndRole() {
+        AtomicInteger loads = new AtomicInteger();
+
+        summaryCache.get(1L, true, () -> getSummary(loads.incrementAndGet()));
+        summaryCache.get(1L, true, () -> getSummary(loads.incrementAndGet()));
+        BookingSummaryDto bookerSummary = summaryCache.get(1L, false, () -> getSummary(loads.incrementAndGet()));
+
+        assertThat(loads.get(), equalTo(2));
+        assertThat(bookerSummary.getAll(), equalTo(2L));
+    }
+
+    @Test
+    void evictShouldDropBookerAndOwnerSummaries() {
+        Booking booking = Booking.builder()
+                .booker(User.builder().id(1L).build())
+                .owner(User.builder().id(2L).build())
+                .build();
+        summaryCache.get(1L, false, () -> getSummary(1));
+        summaryCache.get(2L, true, () -> getSummary(1));
+        summaryCache.get(3L, true, () -> getSummary(1));
+
+        summaryCache.evict(booking);
+
+        assertThat(summaryCache.get(1L, false, () -> getSummary(2)).getAll(), equalTo(2L));
+        assertThat(summaryCache.get(2L, true, () -> getSummary(2)).getAll(), equalTo(2L));
+        assertThat(summaryCache.get(3L, true, () -> getSummary(2)).getAll(), equalTo(1L));
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {
+        "db.name=routing",
+        "shareit.datasource.replica.enabled=true",
+        "shareit.datasource.replica.url=jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1",
+        "shareit.datasource.replica.lag-query=SELECT lag_seconds FROM replica_lag",
+        "shareit.datasource.replica.lag-check-interval=0s",
+        "shareit.datasource.replica.max-lag=5s"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ReplicaRoutingDataSourceTestIT {
+    private static final String CURRENT_DATABASE = "SELECT DATABASE()";
+
+    private final ApplicationContext applicationContext;
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final UserRepository userRepository;
+    private final BookingService bookingService;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource replica = applicationContext.getBean("replicaDataSource", DataSource.class);
+        Flyway.configure()
+                .dataSource(replica)
+                .locations("classpath:db/migration/common")
+                .load()
+                .migrate();
+        replicaJdbcTemplate = new JdbcTemplate(replica);
+        replicaJdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_seconds DOUBLE PRECISION)");
+        replicaJdbcTemplate.update("DELETE FROM replica_lag");
+        replicaJdbcTemplate.update("INSERT INTO replica_lag VALUES (0)");
+    }
+
+    @Test
+    void readOnlyTransactionShouldUseReplica() {
+        assertThat(currentDatabase(true), equalToIgnoringCase("routing_replica"));
+        assertThat(currentDatabase(false), equalToIgnoringCase("routing"));
+    }
+
+    @Test
+    void lagBeyondToleranceShouldFallBackToPrimary() {
+        replicaJdbcTemplate.update("UPDATE replica_lag SET lag_seconds = 60");
+
+        assertThat(currentDatabase(true), equalToIgnoringCase("routing"));
+    }
+
+    @Test
+    void unavailableReplicaShouldFallBackToPrimary() {
+        replicaJdbcTemplate.execute("DROP TABLE replica_lag");
+
+        assertThat(currentDatabase(true), equalToIgnoringCase("routing"));
+    }
+
+    @Test
+    void readOnlyRepositoryCallShouldReadFromReplica() {
+        replicaJdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1000, 'Реплика', 'replica@yandex.ru')");
+
+        Optional<User> fromPrimary = transactionTemplate(false).execute(status -> userRepository.findById(1000L));
+        Optional<User> fromReplica = transactionTemplate(true).execute(status -> userRepository.findById(1000L));
+
+        assertThat(fromPrimary, equalTo(Optional.empty()));
+        assertThat(fromReplica.map(User::getName), equalTo(Optional.of("Реплика")));
+    }
+
+    @Test
+    void entitiesReadFromReplicaShouldNotBeCached() {
+        JdbcTemplate primaryJdbcTemplate = new JdbcTemplate(applicationContext.getBean("primaryDataSource",
+                DataSource.class));
+        primaryJdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1001, 'Новое имя', 'new@yandex.ru')");
+        replicaJdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1001, 'Старое имя', 'old@yandex.ru')");
+
+        Optional<User> fromReplica = transactionTemplate(true).execute(status -> userRepository.findById(1001L));
+        boolean cachedFromReplica = entityManagerFactory.getCache().contains(User.class, 1001L);
+        Optional<User> fromPrimary = transactionTemplate(false).execute(status -> userRepository.findById(1001L));
+
+        assertThat(fromReplica.map(User::getName), equalTo(Optional.of("Старое имя")));
+        assertThat(cachedFromReplica, is(false));
+        assertThat(fromPrimary.map(User::getName), equalTo(Optional.of("Новое имя")));
+        assertThat(entityManagerFactory.getCache().contains(User.class, 1001L), is(true));
+    }
+
+    @Test
+    void bookingsSummaryShouldBeReadFromPrimary() {
+        replicaJdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (2000, 'Реплика', 'summary@yandex.ru')");
+        replicaJdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id) "
+                + "VALUES (2000, 'Дрель', 'Простая дрель', true, 2000)");
+        replicaJdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, booker_id, item_id, owner_id, status) "
+                + "VALUES (2000, '2030-01-01 10:00:00', '2030-01-02 10:00:00', 2000, 2000, 2000, 'WAITING')");
+
+        BookingSummaryDto summary = bookingService.getUserBookingsSummary(2000L, false);
+
+        assertThat(summary.getAll(), equalTo(0L));
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return transactionTemplate(readOnly).execute(status -> jdbcTemplate.queryForObject(CURRENT_DATABASE,
+                String.class));
+    }
+
+    private TransactionTemplate transactionTemplate(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate;
+    }
+}
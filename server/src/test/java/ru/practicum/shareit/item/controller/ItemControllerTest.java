@@ -10,14 +10,19 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -308,4 +313,92 @@ class ItemControllerTest {
                         jsonPath("$.created", notNullValue())
                 );
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getItemCommentsShouldReturnNextCursorWhenPageIsFull() {
+        CommentResponseDto commentResponseDto = getCommentResponseDto();
+
+        when(itemService.getItemComments(anyLong(), anyLong(), any(), anyInt()))
+                .thenReturn(List.of(commentResponseDto));
+
+        mockMvc.perform(get("/items/1/comments")
+                        .param("size", "1")
+                        .header("X-Sharer-User-Id", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$", hasSize(1)),
+                        header().string(ItemController.NEXT_CURSOR_HEADER,
+                                KeysetCursor.of(commentResponseDto.getCreated(), commentResponseDto.getId()).encode())
+                );
+        verify(itemService, times(1)).getItemComments(1L, 1L, null, 1);
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemCommentsShouldReturnBadRequestWhenCursorIsInvalid() {
+        mockMvc.perform(get("/items/1/comments")
+                        .param("after", "%%%")
+                        .header("X-Sharer-User-Id", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(itemService, never()).getItemComments(anyLong(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void importItemsShouldPassNdjsonRowsToService() {
+        List<Long> lines = new ArrayList<>();
+
+        when(itemService.importItems(anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    Iterator<ItemImportRow> rows = invocation.getArgument(1);
+                    rows.forEachRemaining(row -> lines.add(row.getLine()));
+                    return ItemImportResultDto.builder()
+                            .created(1)
+                            .errors(List.of(ItemImportErrorDto.builder().line(2L).message("Ошибка").build()))
+                            .omittedErrors(3)
+                            .build();
+                });
+
+        mockMvc.perform(post("/items/bulk")
+                        .content("{\"line\":1,\"item\":" + objectMapper.writeValueAsString(getItemRequestDto()) + "}\n"
+                                + "{\"line\":2,\"error\":\"Ошибка\"}\n")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.created", is(1)),
+                        jsonPath("$.errors[0].line", is(2)),
+                        jsonPath("$.errors[0].message", is("Ошибка")),
+                        jsonPath("$.omittedErrors", is(3))
+                );
+        assertThat(lines, contains(1L, 2L));
+        verify(itemService, times(1)).importItems(eq(1L), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemAvailabilityShouldParseWindowAndReturnSlots() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 12, 0);
+        LocalDateTime to = from.plusDays(7);
+
+        when(itemService.getItemAvailability(1L, 2L, from, to))
+                .thenReturn(List.of(FreeSlotDto.builder().start(from.plusDays(1)).end(to).build()));
+
+        mockMvc.perform(get("/items/2/availability")
+                        .param("from", "2030-01-01T12:00:00")
+                        .param("to", "2030-01-08T12:00:00")
+                        .header("X-Sharer-User-Id", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$", hasSize(1)),
+                        jsonPath("$[0].start", is("2030-01-02T12:00:00")),
+                        jsonPath("$[0].end", is("2030-01-08T12:00:00"))
+                );
+    }
+}
@@ -138,7 +138,7 @@ class ItemMapperTest {
         lastBooking.setEnd(now.minusDays(1));
         List<CommentResponseDto> comments = List.of(CommentMapper.commentToCommentResponseDto(getComment(1L, author, item)));
 
-        ItemResponseDto result = ItemMapper.itemToItemResponseDto(item, nextBooking, lastBooking, comments);
+        ItemResponseDto result = ItemMapper.itemToItemResponseDto(item, nextBooking, lastBooking, comments, 1L);
 
         assertThat(result, notNullValue());
         assertThat(result.getLastBooking(), equalTo(lastBooking));
@@ -147,6 +147,7 @@ class ItemMapperTest {
         assertThat(result.getDescription(), equalTo(item.getDescription()));
         assertThat(result.getAvailable(), equalTo(item.getAvailable()));
         assertThat(result.getComments(), not(empty()));
+        assertThat(result.getCommentsCount(), equalTo(1L));
     }
 
     @Test
@@ -1,20 +1,21 @@
 package ru.practicum.shareit.item.repository;
 
 import lombok.RequiredArgsConstructor;
-import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.CommentCount;
+import ru.practicum.shareit.item.dto.CommentPreviewDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.QComment;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -87,24 +88,51 @@ class CommentRepositoryTest {
     }
 
     @Test
-    void findAllByItemIdOrderByCreatedDescShouldReturnListOfComments() {
+    void findLatestByItemIdShouldReturnNewestCommentsFirst() {
         User owner = getUser("dima@yandex.ru");
         User author = getUser("fima@yandex.ru");
         testEntityManager.persist(owner);
         testEntityManager.persist(author);
         Item item = getItem(owner);
         testEntityManager.persist(item);
-        Comment comment = getComment(author, item);
-        testEntityManager.persist(comment);
+        Comment oldComment = getComment(author, item);
+        oldComment.setCreated(LocalDateTime.now().minusDays(1));
+        Comment newComment = getComment(author, item);
+        testEntityManager.persist(oldComment);
+        testEntityManager.persist(newComment);
 
-        List<Comment> comments = commentRepository.findAllByItemIdOrderByCreatedDesc(item.getId());
+        List<Comment> comments = commentRepository.findLatestByItemId(item.getId(), PageRequest.of(0, 1));
 
-        assertThat(comments, hasSize(1));
-        assertThat(comments, hasItem(comment));
+        assertThat(comments, contains(newComment));
     }
 
     @Test
-    void findAllByItemIdOrderByCreatedDescShouldReturnEmptyListWhenCommentsNotFound() {
+    void findLatestByItemIdBeforeShouldReturnCommentsAfterCursor() {
+        User owner = getUser("dima@yandex.ru");
+        User author = getUser("fima@yandex.ru");
+        testEntityManager.persist(owner);
+        testEntityManager.persist(author);
+        Item item = getItem(owner);
+        testEntityManager.persist(item);
+        LocalDateTime created = LocalDateTime.now().withNano(0);
+        Comment first = getComment(author, item);
+        first.setCreated(created);
+        Comment second = getComment(author, item);
+        second.setCreated(created);
+        Comment third = getComment(author, item);
+        third.setCreated(created.minusDays(1));
+        testEntityManager.persist(first);
+        testEntityManager.persist(second);
+        testEntityManager.persist(third);
+
+        List<Comment> comments = commentRepository.findLatestByItemIdBefore(item.getId(), second.getCreated(),
+                second.getId(), PageRequest.of(0, 10));
+
+        assertThat(comments, contains(first, third));
+    }
+
+    @Test
+    void findLatestByItemIdShouldReturnEmptyListWhenCommentsNotFound() {
         User owner = getUser("dima@yandex.ru");
         User author = getUser("fima@yandex.ru");
         testEntityManager.persist(owner);
@@ -114,7 +142,7 @@ class CommentRepositoryTest {
         Comment comment = getComment(author, item);
         testEntityManager.persist(comment);
 
-        List<Comment> comments = commentRepository.findAllByItemIdOrderByCreatedDesc(10L);
+        List<Comment> comments = commentRepository.findLatestByItemId(10L, PageRequest.of(0, 10));
 
         assertThat(comments, empty());
     }
@@ -156,51 +184,70 @@ class CommentRepositoryTest {
     }
 
     @Test
-    void findAllByItemIdInWhenIdsExistAndCorrect() {
+    void findLatestPreviewsByItemIdInShouldLimitCommentsPerItem() {
         User owner = getUser("dima@yandex.ru");
         User author = getUser("fima@yandex.ru");
+        author.setName("Фима");
         testEntityManager.persist(owner);
         testEntityManager.persist(author);
-        Item item = getItem(owner);
-        testEntityManager.persist(item);
-        Comment comment = getComment(author, item);
-        testEntityManager.persist(comment);
-        Pageable page = PageRequest.of(0, 10);
-        List<Long> ids = List.of(item.getId());
-
-        List<Comment> comments = commentRepository.findAllByItemIdIn(ids);
-
-        assertThat(comments, hasSize(1));
-        assertThat(comments, hasItem(comment));
+        Item firstItem = getItem(owner);
+        Item secondItem = getItem(owner);
+        testEntityManager.persist(firstItem);
+        testEntityManager.persist(secondItem);
+        Comment oldComment = getComment(author, firstItem);
+        oldComment.setCreated(LocalDateTime.now().minusDays(1));
+        Comment newComment = getComment(author, firstItem);
+        newComment.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        Comment otherComment = getComment(author, secondItem);
+        otherComment.setCreated(newComment.getCreated().plusSeconds(1));
+        testEntityManager.persist(oldComment);
+        testEntityManager.persist(newComment);
+        testEntityManager.persist(otherComment);
+
+        List<CommentPreviewDto> previews = commentRepository.findLatestPreviewsByItemIdIn(
+                List.of(firstItem.getId(), secondItem.getId()), 1);
+
+        assertThat(previews, contains(
+                allOf(
+                        hasProperty("id", equalTo(otherComment.getId())),
+                        hasProperty("itemId", equalTo(secondItem.getId()))),
+                allOf(
+                        hasProperty("id", equalTo(newComment.getId())),
+                        hasProperty("itemId", equalTo(firstItem.getId())),
+                        hasProperty("text", equalTo("Отличные грабли")),
+                        hasProperty("authorName", equalTo("Фима")),
+                        hasProperty("created", equalTo(newComment.getCreated())))));
     }
 
     @Test
-    void findAllByItemIdInShouldReturnEmptyListWhenArgumentIsEmptyList() {
+    void countByItemIdInShouldCountCommentsPerItem() {
         User owner = getUser("dima@yandex.ru");
         User author = getUser("fima@yandex.ru");
         testEntityManager.persist(owner);
         testEntityManager.persist(author);
         Item item = getItem(owner);
         testEntityManager.persist(item);
-        Comment comment = getComment(author, item);
-        testEntityManager.persist(comment);
+        testEntityManager.persist(getComment(author, item));
+        testEntityManager.persist(getComment(author, item));
 
-        List<Comment> comments = commentRepository.findAllByItemIdIn(Collections.emptyList());
+        List<CommentCount> counts = commentRepository.countByItemIdIn(List.of(item.getId(), item.getId() + 10));
 
-        assertThat(comments, empty());
+        assertThat(counts, contains(allOf(
+                hasProperty("itemId", equalTo(item.getId())),
+                hasProperty("count", equalTo(2L))
+        )));
+        assertThat(commentRepository.countByItemId(item.getId()), equalTo(2L));
     }
 
     @Test
-    void findAllByItemIdInShouldNotThrowExceptionWhenArgumentIsEmptyList() {
+    void findLatestPreviewsByItemIdInShouldReturnEmptyListWhenCommentsNotFound() {
         User owner = getUser("dima@yandex.ru");
-        User author = getUser("fima@yandex.ru");
         testEntityManager.persist(owner);
-        testEntityManager.persist(author);
         Item item = getItem(owner);
         testEntityManager.persist(item);
-        Comment comment = getComment(author, item);
-        testEntityManager.persist(comment);
 
-        Assertions.assertDoesNotThrow(() -> commentRepository.findAllByItemIdIn(Collections.emptyList()));
+        List<CommentPreviewDto> previews = commentRepository.findLatestPreviewsByItemIdIn(List.of(item.getId()), 10);
+
+        assertThat(previews, empty());
     }
-}
\ No newline at end of file
+}
@@ -5,11 +5,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.RequestItem;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -37,36 +39,6 @@ class ItemRepositoryTest {
                 .build();
     }
 
-    @Test
-    void searchItemsByNameOrDescriptionShouldReturnResultWhenSearchRequestFound() {
-        User owner = getUser("dima@yandex.ru");
-        testEntityManager.persist(owner);
-        Item item = getItem(owner);
-        testEntityManager.persist(item);
-        Pageable page = PageRequest.of(0, 10);
-
-        List<Item> result = itemRepository.searchItemsByNameOrDescription("Гр", page);
-
-        assertThat(result, hasSize(1));
-        assertThat(result, hasItem(allOf(
-                hasProperty("name", equalTo(item.getName())),
-                hasProperty("id", equalTo(item.getId()))
-        )));
-    }
-
-    @Test
-    void searchItemsByNameOrDescriptionShouldReturnEmptyResultWhenSearchRequestNotFound() {
-        User owner = getUser("dima@yandex.ru");
-        testEntityManager.persist(owner);
-        Item item = getItem(owner);
-        testEntityManager.persist(item);
-        Pageable page = PageRequest.of(0, 10);
-
-        List<Item> result = itemRepository.searchItemsByNameOrDescription("Обли", page);
-
-        assertThat(result, empty());
-    }
-
     @Test
     void findAllByOwnerIdShouldReturnItemListWhenIdIsCorrect() {
         User owner = getUser("dima@yandex.ru");
@@ -94,4 +66,31 @@ class ItemRepositoryTest {
 
         assertThat(result, empty());
     }
+
+    @Test
+    void findAllShortByRequestIdInShouldReturnOnlyItemsOfRequests() {
+        User owner = getUser("dima@yandex.ru");
+        User requestor = getUser("fima@yandex.ru");
+        testEntityManager.persist(owner);
+        testEntityManager.persist(requestor);
+        RequestItem request = RequestItem.builder()
+                .description("Нужны грабли")
+                .requestor(requestor)
+                .created(LocalDateTime.now())
+                .build();
+        testEntityManager.persist(request);
+        Item requestedItem = getItem(owner);
+        requestedItem.setRequest(request);
+        testEntityManager.persist(requestedItem);
+        testEntityManager.persist(getItem(owner));
+
+        List<ItemShortResponseDto> result = itemRepository.findAllShortByRequestIdIn(List.of(request.getId()));
+
+        assertThat(result, contains(allOf(
+                hasProperty("id", equalTo(requestedItem.getId())),
+                hasProperty("name", equalTo("Грабли")),
+                hasProperty("available", equalTo(true)),
+                hasProperty("requestId", equalTo(request.getId()))
+        )));
+    }
 }
\ No newline at end of file
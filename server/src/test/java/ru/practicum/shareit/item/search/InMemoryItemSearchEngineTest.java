@@ -0,0 +1,114 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+    @Mock
+    private ItemRepository itemRepository;
+    @InjectMocks
+    private InMemoryItemSearchEngine searchEngine;
+
+    private static Item getItem(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+
+    private List<Long> search(String text) {
+        when(itemRepository.findAllById(anyIterable()))
+                .thenAnswer(invocation -> {
+                    Iterable<Long> ids = invocation.getArgument(0);
+                    List<Item> items = new ArrayList<>();
+                    ids.forEach(id -> items.add(getItem(id, "", "", true)));
+                    return items;
+                });
+        return searchEngine.search(text, PageRequest.of(0, 10)).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void searchShouldMatchStemmedPrefixesIgnoringCase() {
+        searchEngine.index(getItem(1L, "Аккумуляторная дрель", "Дрель с аккумулятором", true));
+        searchEngine.index(getItem(2L, "Грабли", "Грабли для уборки листвы", true));
+
+        assertThat(search("аккУМУлятор"), contains(1L));
+        assertThat(search("дрели"), contains(1L));
+        assertThat(search("ГрАбЛи"), contains(2L));
+        assertThat(search("Лопата"), empty());
+    }
+
+    @Test
+    void searchShouldMatchWordBeginningsOnly() {
+        searchEngine.index(getItem(1L, "Дрель", "Ударная дрель", true));
+
+        assertThat(search("дре"), contains(1L));
+        assertThat(search("рел"), empty());
+    }
+
+    @Test
+    void searchShouldRankNameMatchesFirstAndRequireAllTerms() {
+        searchEngine.index(getItem(1L, "Отвёртка", "Крестовая, подходит к дрели", true));
+        searchEngine.index(getItem(2L, "Дрель", "Ударная дрель", true));
+        searchEngine.index(getItem(3L, "Дрель", "Без аккумулятора", true));
+
+        assertThat(search("дрель"), contains(2L, 3L, 1L));
+        assertThat(search("дрель аккумулятор"), contains(3L));
+    }
+
+    @Test
+    void searchShouldSkipUnavailableItemsAndFollowUpdates() {
+        Item item = getItem(1L, "Drill", "Cordless drilling machine", true);
+        searchEngine.index(item);
+        assertThat(search("drills"), contains(1L));
+
+        item.setAvailable(false);
+        searchEngine.index(item);
+        assertThat(search("drill"), empty());
+
+        item.setAvailable(true);
+        item.setName("Saw");
+        item.setDescription("Hand saw");
+        searchEngine.index(item);
+        assertThat(search("drill"), empty());
+        assertThat(search("saw"), contains(1L));
+    }
+
+    @Test
+    void searchShouldReturnEmptyListForBlankText() {
+        searchEngine.index(getItem(1L, "Грабли", "Грабли для уборки листвы", true));
+
+        assertThat(searchEngine.search("  ", PageRequest.of(0, 10)), empty());
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void warmUpShouldIndexAllItems() {
+        when(itemRepository.findAll())
+                .thenReturn(List.of(getItem(1L, "Грабли", "Грабли для уборки листвы", true)));
+
+        searchEngine.warmUp();
+
+        assertThat(search("листва"), contains(1L));
+    }
+}
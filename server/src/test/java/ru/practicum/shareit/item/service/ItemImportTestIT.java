@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemImportRow;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "db.name=item-import", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemImportTestIT {
+    private final ItemService itemService;
+    private final UserService userService;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private static UserRequestDto getUserDto(String email) {
+        return UserRequestDto.builder()
+                .name("Дима")
+                .email(email)
+                .build();
+    }
+
+    private static ItemRequestDto getItemDto(String name) {
+        return ItemRequestDto.builder()
+                .name(name)
+                .description("Грабли для уборки листвы")
+                .available(true)
+                .build();
+    }
+
+    private static List<ItemImportRow> getRows(int count) {
+        List<ItemImportRow> rows = new ArrayList<>();
+
+        for (long line = 1; line <= count; line++) {
+            rows.add(ItemImportRow.builder().line(line).item(getItemDto("Грабли")).build());
+        }
+
+        return rows;
+    }
+
+    @Test
+    void importItemsShouldInsertRowsInBatches() {
+        UserRequestDto owner = userService.createNewUser(getUserDto("dima@yandex.ru"));
+        List<ItemImportRow> rows = getRows(ItemServiceImpl.IMPORT_CHUNK_SIZE);
+        rows.add(ItemImportRow.builder().line(100L).error("name: не должно быть пустым").build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ItemImportResultDto result = itemService.importItems(owner.getId(), rows.iterator());
+
+        assertThat(result.getCreated(), equalTo(ItemServiceImpl.IMPORT_CHUNK_SIZE));
+        assertThat(result.getErrors(), contains(hasProperty("line", equalTo(100L))));
+        assertThat(result.getOmittedErrors(), equalTo(0));
+        assertThat(statistics.getEntityInsertCount(), equalTo((long) ItemServiceImpl.IMPORT_CHUNK_SIZE));
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(3L));
+        assertThat(itemService.getAllItemsByUserId(owner.getId(), 0, 100), hasSize(ItemServiceImpl.IMPORT_CHUNK_SIZE));
+    }
+
+    @Test
+    void importItemsShouldKeepCommittedChunksWhenLaterChunkFails() {
+        UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
+        List<ItemImportRow> rows = getRows(ItemServiceImpl.IMPORT_CHUNK_SIZE);
+        rows.add(ItemImportRow.builder().line(51L).item(getItemDto("Г".repeat(101))).build());
+
+        assertThrows(DataAccessException.class, () -> itemService.importItems(owner.getId(), rows.iterator()));
+        assertThat(itemService.getAllItemsByUserId(owner.getId(), 0, 100), hasSize(ItemServiceImpl.IMPORT_CHUNK_SIZE));
+    }
+}
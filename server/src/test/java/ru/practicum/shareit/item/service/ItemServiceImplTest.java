@@ -1,13 +1,20 @@
 package ru.practicum.shareit.item.service;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingAvailabilityIndex;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.ItemUpdatingException;
@@ -17,15 +24,16 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.model.RequestItem;
 import ru.practicum.shareit.request.repository.RequestItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -33,6 +41,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +56,16 @@ class ItemServiceImplTest {
     private CommentRepository commentRepository;
     @Mock
     private RequestItemRepository requestItemRepository;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate();
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -115,6 +134,15 @@ class ItemServiceImplTest {
                 .build());
     }
 
+    private static CommentCount getCommentCount(Long itemId, Long count) {
+        return new CommentCount(itemId, count);
+    }
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.setTransactionManager(transactionManager);
+    }
+
     @Test
     void addNewItemShouldThrowUserNotFoundEx() {
         ItemRequestDto itemRequestDto = getItemRequestDto();
@@ -147,7 +175,101 @@ class ItemServiceImplTest {
         verify(userRepository, times(1)).findById(anyLong());
         verify(requestItemRepository, times(1)).findById(anyLong());
         verify(itemRepository, times(1)).save(any());
-        verifyNoMoreInteractions(userRepository, requestItemRepository, itemRepository);
+        verify(itemSearchEngine, times(1)).index(item);
+        verifyNoMoreInteractions(userRepository, requestItemRepository, itemRepository, itemSearchEngine);
+    }
+
+    @Test
+    void importItemsShouldResolveRequestsOncePerChunkAndReportRowErrors() {
+        User owner = getUser("dima@yandex.ru");
+        RequestItem request = getRequest(getUser("fima@yandex.ru"));
+        request.setId(1L);
+        ItemRequestDto unknownRequest = getItemRequestDto();
+        unknownRequest.setRequestId(2L);
+        List<ItemImportRow> rows = List.of(
+                ItemImportRow.builder().line(1L).item(getItemRequestDto()).build(),
+                ItemImportRow.builder().line(2L).error("name: не должно быть пустым").build(),
+                ItemImportRow.builder().line(3L).item(unknownRequest).build());
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(owner));
+        when(requestItemRepository.findAllById(any()))
+                .thenReturn(List.of(request));
+        when(itemRepository.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ItemImportResultDto result = itemService.importItems(1L, rows.iterator());
+
+        assertThat(result.getCreated(), equalTo(1));
+        assertThat(result.getErrors(), contains(
+                allOf(hasProperty("line", equalTo(2L)), hasProperty("message", equalTo("name: не должно быть пустым"))),
+                allOf(hasProperty("line", equalTo(3L)), hasProperty("message", equalTo("Запрос с id: 2 не обнаружен")))));
+        verify(userRepository, times(1)).findById(1L);
+        verify(requestItemRepository, times(1)).findAllById(Set.of(1L, 2L));
+        verify(itemRepository, times(1)).saveAll(argThat(items -> ((Collection<?>) items).size() == 1));
+        verify(itemSearchEngine, times(1)).index(any());
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void importItemsShouldSaveInChunks() {
+        User owner = getUser("dima@yandex.ru");
+        ItemRequestDto itemDto = getItemRequestDto();
+        itemDto.setRequestId(null);
+        List<ItemImportRow> rows = new ArrayList<>();
+
+        for (long line = 1; line <= ItemServiceImpl.IMPORT_CHUNK_SIZE + 1; line++) {
+            rows.add(ItemImportRow.builder().line(line).item(itemDto).build());
+        }
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(owner));
+        when(itemRepository.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ItemImportResultDto result = itemService.importItems(1L, rows.iterator());
+
+        assertThat(result.getCreated(), equalTo(ItemServiceImpl.IMPORT_CHUNK_SIZE + 1));
+        assertThat(result.getErrors(), empty());
+        verify(itemRepository, times(2)).saveAll(any());
+        verify(itemRepository, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(transactionManager, times(2)).commit(any());
+        verifyNoInteractions(requestItemRepository);
+    }
+
+    @Test
+    void importItemsShouldCapReportedErrors() {
+        User owner = getUser("dima@yandex.ru");
+        List<ItemImportRow> rows = new ArrayList<>();
+
+        for (long line = 1; line <= ItemServiceImpl.IMPORT_ERRORS_LIMIT + 30; line++) {
+            rows.add(ItemImportRow.builder().line(line).error("name: не должно быть пустым").build());
+        }
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(owner));
+        when(itemRepository.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ItemImportResultDto result = itemService.importItems(1L, rows.iterator());
+
+        assertThat(result.getCreated(), equalTo(0));
+        assertThat(result.getErrors(), hasSize(ItemServiceImpl.IMPORT_ERRORS_LIMIT));
+        assertThat(result.getErrors().get(ItemServiceImpl.IMPORT_ERRORS_LIMIT - 1).getLine(),
+                equalTo((long) ItemServiceImpl.IMPORT_ERRORS_LIMIT));
+        assertThat(result.getOmittedErrors(), equalTo(30));
+    }
+
+    @Test
+    void importItemsShouldThrowUserNotFoundEx() {
+        Iterator<ItemImportRow> rows = Collections.emptyIterator();
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> itemService.importItems(1L, rows));
+        verifyNoInteractions(itemRepository);
     }
 
     @Test
@@ -230,18 +352,13 @@ class ItemServiceImplTest {
         User user = getUser("fima@yandex.ru");
         user.setId(2L);
         Item item = getItem(owner);
-        Booking booking = getBooking(item, user);
         List<Comment> comments = getComments(user, item);
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user));
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findNextBookingByItemId(anyLong(), any()))
-                .thenReturn(Optional.of(booking));
-        when(bookingRepository.findLastBookingByItemId(anyLong(), any()))
-                .thenReturn(Optional.empty());
-        when(commentRepository.findAllByItemIdOrderByCreatedDesc(anyLong()))
+        when(commentRepository.findLatestByItemId(anyLong(), any()))
                 .thenReturn(comments);
 
         ItemResponseDto result = itemService.getItemByUserId(2L, 1L);
@@ -250,9 +367,7 @@ class ItemServiceImplTest {
         assertThat(result.getLastBooking(), nullValue());
         verify(userRepository, times(1)).findById(anyLong());
         verify(itemRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findLastBookingByItemId(anyLong(), any());
-        verify(bookingRepository, times(1)).findNextBookingByItemId(anyLong(), any());
-        verify(commentRepository, times(1)).findAllByItemIdOrderByCreatedDesc(anyLong());
+        verify(commentRepository, times(1)).findLatestByItemId(anyLong(), any());
         verifyNoMoreInteractions(userRepository, itemRepository, bookingRepository, commentRepository);
     }
 
@@ -285,17 +400,17 @@ class ItemServiceImplTest {
         user.setId(2L);
         Item item = getItem(owner);
         Booking booking = getBooking(item, user);
+        Booking lastBooking = getBooking(item, user);
+        lastBooking.setStartDate(LocalDateTime.now().minusDays(1L));
         List<Comment> comments = getComments(user, item);
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(owner));
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findNextBookingByItemId(anyLong(), any()))
-                .thenReturn(Optional.of(booking));
-        when(bookingRepository.findLastBookingByItemId(anyLong(), any()))
-                .thenReturn(Optional.of(booking));
-        when(commentRepository.findAllByItemIdOrderByCreatedDesc(anyLong()))
+        when(bookingRepository.findLastAndNextBookingsByItemIdIn(anyList(), any()))
+                .thenReturn(List.of(booking, lastBooking));
+        when(commentRepository.findLatestByItemId(anyLong(), any()))
                 .thenReturn(comments);
 
         ItemResponseDto result = itemService.getItemByUserId(1L, 1L);
@@ -304,12 +419,96 @@ class ItemServiceImplTest {
         assertThat(result.getLastBooking(), notNullValue());
         verify(userRepository, times(1)).findById(anyLong());
         verify(itemRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findLastBookingByItemId(anyLong(), any());
-        verify(bookingRepository, times(1)).findNextBookingByItemId(anyLong(), any());
-        verify(commentRepository, times(1)).findAllByItemIdOrderByCreatedDesc(anyLong());
+        verify(bookingRepository, times(1)).findLastAndNextBookingsByItemIdIn(anyList(), any());
+        verify(commentRepository, times(1)).findLatestByItemId(anyLong(), any());
         verifyNoMoreInteractions(userRepository, itemRepository, bookingRepository, commentRepository);
     }
 
+    @Test
+    void getItemByIdShouldCountCommentsWhenPreviewIsFull() {
+        User owner = getUser("dima@yandex.ru");
+        owner.setId(1L);
+        User user = getUser("fima@yandex.ru");
+        user.setId(2L);
+        Item item = getItem(owner);
+        List<Comment> comments = Collections.nCopies(ItemServiceImpl.COMMENTS_PREVIEW_SIZE,
+                getComments(user, item).get(0));
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.findLatestByItemId(anyLong(), any()))
+                .thenReturn(comments);
+        when(commentRepository.countByItemId(anyLong()))
+                .thenReturn(25L);
+
+        ItemResponseDto result = itemService.getItemByUserId(2L, 1L);
+
+        assertThat(result.getComments(), hasSize(ItemServiceImpl.COMMENTS_PREVIEW_SIZE));
+        assertThat(result.getCommentsCount(), equalTo(25L));
+    }
+
+    @Test
+    void getItemCommentsShouldUseCursorWhenPresent() {
+        User user = getUser("fima@yandex.ru");
+        Item item = getItem(user);
+        List<Comment> comments = getComments(user, item);
+        KeysetCursor cursor = KeysetCursor.of(LocalDateTime.now(), 5L);
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.findLatestByItemIdBefore(1L, cursor.getDate(), 5L, PageRequest.of(0, 2)))
+                .thenReturn(comments);
+
+        List<CommentResponseDto> result = itemService.getItemComments(2L, 1L, cursor, 2);
+
+        assertThat(result, hasSize(1));
+        verify(commentRepository, never()).findLatestByItemId(anyLong(), any());
+    }
+
+    @Test
+    void getItemCommentsShouldThrowItemNotFound() {
+        User user = getUser("fima@yandex.ru");
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        assertThrows(ItemNotFoundException.class, () -> itemService.getItemComments(2L, 1L, null, 10));
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void getItemAvailabilityShouldReturnFreeSlotsFromIndex() {
+        User user = getUser("fima@yandex.ru");
+        Item item = getItem(user);
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusDays(7);
+        List<FreeSlotDto> slots = List.of(FreeSlotDto.builder().start(from).end(to).build());
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(availabilityIndex.freeSlots(1L, from, to))
+                .thenReturn(slots);
+
+        assertThat(itemService.getItemAvailability(2L, 1L, from, to), sameInstance(slots));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getItemAvailabilityShouldThrowWhenWindowIsEmpty() {
+        LocalDateTime from = LocalDateTime.now();
+
+        assertThrows(ResponseStatusException.class, () -> itemService.getItemAvailability(2L, 1L, from, from));
+        verifyNoInteractions(userRepository, itemRepository, availabilityIndex);
+    }
+
     @Test
     void getItemsByOwnerShouldReturnItemsWithNotNullBookings() {
         User owner = getUser("dima@yandex.ru");
@@ -323,25 +522,33 @@ class ItemServiceImplTest {
         secondBook.setStartDate(LocalDateTime.now().minusDays(1L));
 
         List<Booking> bookings = List.of(firstBook, secondBook);
-        List<Comment> comments = getComments(user, item);
+        CommentPreviewDto comment = new CommentPreviewDto(item.getId(), 1L, "Отличные грабли", user.getName(),
+                LocalDateTime.now());
 
         when(itemRepository.findAllByOwnerId(anyLong(), any()))
                 .thenReturn(items);
-        when(bookingRepository.findAllByItemIdIn(anyList()))
+        when(bookingRepository.findLastAndNextBookingsByItemIdIn(anyList(), any()))
                 .thenReturn(bookings);
-        when(commentRepository.findAllByItemIdIn(anyList()))
-                .thenReturn(comments);
+        when(commentRepository.findLatestPreviewsByItemIdIn(anyList(), anyInt()))
+                .thenReturn(List.of(comment));
+        when(commentRepository.countByItemIdIn(anyList()))
+                .thenReturn(List.of(getCommentCount(item.getId(), 25L)));
 
         List<ItemResponseDto> result = itemService.getAllItemsByUserId(1L, 0, 10);
 
         assertThat(result, hasSize(1));
         assertThat(result, hasItem(allOf(
                 hasProperty("nextBooking", notNullValue()),
-                hasProperty("lastBooking", notNullValue())
+                hasProperty("lastBooking", notNullValue()),
+                hasProperty("comments", contains(allOf(
+                        hasProperty("id", equalTo(1L)),
+                        hasProperty("authorName", equalTo(user.getName()))))),
+                hasProperty("commentsCount", equalTo(25L))
         )));
         verify(itemRepository, times(1)).findAllByOwnerId(anyLong(), any());
-        verify(bookingRepository, times(1)).findAllByItemIdIn(anyList());
-        verify(commentRepository, times(1)).findAllByItemIdIn(anyList());
+        verify(bookingRepository, times(1)).findLastAndNextBookingsByItemIdIn(anyList(), any());
+        verify(commentRepository, times(1)).findLatestPreviewsByItemIdIn(anyList(), eq(ItemServiceImpl.COMMENTS_PREVIEW_SIZE));
+        verify(commentRepository, times(1)).countByItemIdIn(anyList());
         verifyNoMoreInteractions(itemRepository, bookingRepository, commentRepository);
 
     }
@@ -356,28 +563,66 @@ class ItemServiceImplTest {
         List<Item> items = List.of(item);
 
         List<Booking> bookings = Collections.emptyList();
-        List<Comment> comments = getComments(user, item);
 
         when(itemRepository.findAllByOwnerId(anyLong(), any()))
                 .thenReturn(items);
-        when(bookingRepository.findAllByItemIdIn(anyList()))
+        when(bookingRepository.findLastAndNextBookingsByItemIdIn(anyList(), any()))
                 .thenReturn(bookings);
-        when(commentRepository.findAllByItemIdIn(anyList()))
-                .thenReturn(comments);
 
         List<ItemResponseDto> result = itemService.getAllItemsByUserId(1L, 0, 10);
 
         assertThat(result, hasSize(1));
         assertThat(result, hasItem(allOf(
                 hasProperty("nextBooking", nullValue()),
-                hasProperty("lastBooking", nullValue())
+                hasProperty("lastBooking", nullValue()),
+                hasProperty("comments", empty()),
+                hasProperty("commentsCount", equalTo(0L))
         )));
         verify(itemRepository, times(1)).findAllByOwnerId(anyLong(), any());
-        verify(bookingRepository, times(1)).findAllByItemIdIn(anyList());
-        verify(commentRepository, times(1)).findAllByItemIdIn(anyList());
+        verify(bookingRepository, times(1)).findLastAndNextBookingsByItemIdIn(anyList(), any());
+        verify(commentRepository, times(1)).findLatestPreviewsByItemIdIn(anyList(), eq(ItemServiceImpl.COMMENTS_PREVIEW_SIZE));
+        verify(commentRepository, times(1)).countByItemIdIn(anyList());
         verifyNoMoreInteractions(itemRepository, bookingRepository, commentRepository);
     }
 
+    @Test
+    void getItemsByOwnerShouldReturnCommentsWhenItemsHaveNoBookings() {
+        User owner = getUser("dima@yandex.ru");
+        owner.setId(1L);
+        User user = getUser("fima@yandex.ru");
+        user.setId(2L);
+        Item item = getItem(owner);
+        CommentPreviewDto comment = new CommentPreviewDto(item.getId(), 1L, "Отличные грабли", user.getName(),
+                LocalDateTime.now());
+
+        when(itemRepository.findAllByOwnerId(anyLong(), any()))
+                .thenReturn(List.of(item));
+        when(bookingRepository.findLastAndNextBookingsByItemIdIn(anyList(), any()))
+                .thenReturn(Collections.emptyList());
+        when(commentRepository.findLatestPreviewsByItemIdIn(anyList(), anyInt()))
+                .thenReturn(List.of(comment));
+        when(commentRepository.countByItemIdIn(anyList()))
+                .thenReturn(List.of(getCommentCount(item.getId(), 12L)));
+
+        List<ItemResponseDto> result = itemService.getAllItemsByUserId(1L, 0, 10);
+
+        assertThat(result, contains(allOf(
+                hasProperty("nextBooking", nullValue()),
+                hasProperty("lastBooking", nullValue()),
+                hasProperty("comments", contains(hasProperty("text", equalTo("Отличные грабли")))),
+                hasProperty("commentsCount", equalTo(12L))
+        )));
+    }
+
+    @Test
+    void getItemsByOwnerShouldNotQueryBookingsAndCommentsWhenOwnerHasNoItems() {
+        when(itemRepository.findAllByOwnerId(anyLong(), any()))
+                .thenReturn(Collections.emptyList());
+
+        assertThat(itemService.getAllItemsByUserId(1L, 0, 10), empty());
+        verifyNoInteractions(bookingRepository, commentRepository);
+    }
+
     @Test
     void searchShouldReturnEmptyResult() {
         GetSearchItem search = GetSearchItem.of("", 1L, 0, 10);
@@ -399,7 +644,7 @@ class ItemServiceImplTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(itemRepository.searchItemsByNameOrDescription(anyString(), any()))
+        when(itemSearchEngine.search(anyString(), any()))
                 .thenReturn(items);
         List<ItemRequestDto> result = itemService.search(search);
 
@@ -471,8 +716,8 @@ class ItemServiceImplTest {
         Item item = getItem(owner);
         CommentRequestDto commentRequestDto = getCommentDto(booker, item);
 
-        when(bookingRepository.findFirstByBookerIdAndItemIdAndEndDateBefore(anyLong(), anyLong(), any()))
-                .thenReturn(Optional.empty());
+        when(bookingRepository.findCompletedBookings(anyLong(), anyLong(), any(), any()))
+                .thenReturn(Collections.emptyList());
 
         assertThrows(ResponseStatusException.class, ()
                 -> itemService.createNewComment(item.getId(), commentRequestDto, 1L));
@@ -490,8 +735,8 @@ class ItemServiceImplTest {
         CommentRequestDto commentRequestDto = getCommentDto(booker, item);
         Comment comment = getComments(booker, item).get(0);
 
-        when(bookingRepository.findFirstByBookerIdAndItemIdAndEndDateBefore(anyLong(), anyLong(), any()))
-                .thenReturn(Optional.of(booking));
+        when(bookingRepository.findCompletedBookings(anyLong(), anyLong(), any(), any()))
+                .thenReturn(List.of(booking));
         when(commentRepository.save(any()))
                 .thenReturn(comment);
         CommentResponseDto result = itemService.createNewComment(item.getId(), commentRequestDto, booker.getId());
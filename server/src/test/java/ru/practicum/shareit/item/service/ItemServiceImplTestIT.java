@@ -1,18 +1,22 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -26,6 +30,7 @@ class ItemServiceImplTestIT {
     private final ItemService itemService;
     private final BookingService bookingService;
     private final UserService userService;
+    private final EntityManager entityManager;
 
     private static UserRequestDto getUserDto(String email) {
         return UserRequestDto.builder()
@@ -73,6 +78,32 @@ class ItemServiceImplTestIT {
         assertThat(result.getComments(), empty());
     }
 
+    @Test
+    void getItemByIdWhenOwnerShouldLoadBookingsAndCommentsInOneStatementEach() {
+        LocalDateTime now = LocalDateTime.now();
+        UserRequestDto user = userService.createNewUser(getUserDto("dima@yandex.ru"));
+        UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
+        ItemShortResponseDto item = itemService.createNewItem(getItemDto(), owner.getId());
+        BookingResponseDto nextBooking = bookingService.createNewBooking(getBookingRequestDto(
+                item.getId(), now.plusDays(1L), now.plusDays(4L)), user.getId());
+        BookingResponseDto lastBooking = bookingService.createNewBooking(getBookingRequestDto(
+                item.getId(), now.minusDays(4L), now.minusDays(1L)), user.getId());
+        itemService.createNewComment(item.getId(), getCommentDto(), user.getId());
+
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ItemResponseDto result = itemService.getItemByUserId(owner.getId(), item.getId());
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(4L));
+        assertThat(result.getNextBooking().getId(), equalTo(nextBooking.getId()));
+        assertThat(result.getLastBooking().getId(), equalTo(lastBooking.getId()));
+        assertThat(result.getComments(), contains(hasProperty("authorName", equalTo("Дима"))));
+    }
+
     @Test
     void getItemByIdWhenNotOwnerBookingsShouldBeNull() {
         LocalDateTime now = LocalDateTime.now();
@@ -120,7 +151,7 @@ class ItemServiceImplTestIT {
     }
 
     @Test
-    void getItemsByOwnerBookingsNullCommentsNull() {
+    void getItemsByOwnerBookingsNullCommentsEmpty() {
         UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
         ItemShortResponseDto item = itemService.createNewItem(getItemDto(), owner.getId());
 
@@ -134,7 +165,8 @@ class ItemServiceImplTestIT {
                 hasProperty("available", equalTo(item.getAvailable())),
                 hasProperty("nextBooking", nullValue()),
                 hasProperty("lastBooking", nullValue()),
-                hasProperty("comments", nullValue())
+                hasProperty("comments", empty()),
+                hasProperty("commentsCount", equalTo(0L))
         )));
     }
 
@@ -215,4 +247,23 @@ class ItemServiceImplTestIT {
 
         assertThat(result, empty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemAvailabilityShouldReturnGapsBetweenBookings() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        UserRequestDto user = userService.createNewUser(getUserDto("dima@yandex.ru"));
+        UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
+        ItemShortResponseDto item = itemService.createNewItem(getItemDto(), owner.getId());
+        bookingService.createNewBooking(getBookingRequestDto(item.getId(), now.plusDays(1), now.plusDays(2)),
+                user.getId());
+        bookingService.createNewBooking(getBookingRequestDto(item.getId(), now.plusDays(2), now.plusDays(4)),
+                user.getId());
+
+        List<FreeSlotDto> result = itemService.getItemAvailability(user.getId(), item.getId(), now, now.plusDays(7));
+
+        assertThat(result, contains(
+                allOf(hasProperty("start", equalTo(now)), hasProperty("end", equalTo(now.plusDays(1)))),
+                allOf(hasProperty("start", equalTo(now.plusDays(4))), hasProperty("end", equalTo(now.plusDays(7))))
+        ));
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ProdLoggingConfigurationTest {
+    private final LoggingSystem loggingSystem = LoggingSystem.get(getClass().getClassLoader());
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AsyncAppender asyncAppender;
+    private OutputStreamAppender<ILoggingEvent> jsonAppender;
+    private Logger logger;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+        initialize(environment);
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logger = loggerContext.getLogger("ru.practicum.shareit.Test");
+        asyncAppender = (AsyncAppender) loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).getAppender("ASYNC");
+        jsonAppender = (OutputStreamAppender<ILoggingEvent>) asyncAppender.getAppender("JSON");
+    }
+
+    @AfterEach
+    void restoreLogging() {
+        initialize(new MockEnvironment());
+    }
+
+    @Test
+    void asyncAppenderShouldNotDiscardEventsByLevel() {
+        assertThat(asyncAppender.getQueueSize(), equalTo(8192));
+        assertThat(asyncAppender.getDiscardingThreshold(), equalTo(0));
+        assertThat(asyncAppender.isNeverBlock(), is(true));
+    }
+
+    @Test
+    void jsonEncoderShouldWriteEventAsSingleJsonLine() throws Exception {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.INFO,
+                "Бронь {} \"подтверждена\"\nвладельцем", null, new Object[]{1L});
+        event.setMDCPropertyMap(Map.of("sqlLog", "true"));
+
+        String line = new String(jsonAppender.getEncoder().encode(event), StandardCharsets.UTF_8);
+        JsonNode json = objectMapper.readTree(line);
+
+        assertThat(line.trim(), not(containsString("\n")));
+        assertThat(json.get("timestamp").asText(), not(emptyString()));
+        assertThat(json.get("level").asText(), equalTo("INFO"));
+        assertThat(json.get("logger").asText(), equalTo("ru.practicum.shareit.Test"));
+        assertThat(json.get("thread").asText(), not(emptyString()));
+        assertThat(json.get("message").asText(), equalTo("Бронь 1 \"подтверждена\"\nвладельцем"));
+        assertThat(json.get("sqlLog").asText(), equalTo("true"));
+        assertThat(json.has("@version"), is(false));
+        assertThat(json.has("level_value"), is(false));
+    }
+
+    @Test
+    void jsonEncoderShouldIncludeException() throws Exception {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.ERROR, "Ошибка",
+                new IllegalStateException("сбой"), null);
+        event.setMDCPropertyMap(Map.of());
+
+        JsonNode json = objectMapper.readTree(jsonAppender.getEncoder().encode(event));
+
+        assertThat(json.get("exception").asText(), startsWith("java.lang.IllegalStateException: сбой"));
+    }
+
+    private void initialize(MockEnvironment environment) {
+        loggingSystem.cleanUp();
+        loggingSystem.beforeInitialize();
+        loggingSystem.initialize(new LoggingInitializationContext(environment), "classpath:logback-spring.xml", null);
+    }
+}
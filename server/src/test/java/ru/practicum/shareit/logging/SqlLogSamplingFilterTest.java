@@ -0,0 +1,64 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class SqlLogSamplingFilterTest {
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final SqlLogTurboFilter turboFilter = new SqlLogTurboFilter();
+
+    @Test
+    void sampledRequestShouldEnableSqlLoggingOnlyWhileHandled() throws Exception {
+        List<FilterReply> replies = new ArrayList<>();
+        SqlLogSamplingFilter filter = new SqlLogSamplingFilter(1);
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (request, response) -> replies.add(decide("org.hibernate.SQL", Level.DEBUG)));
+
+        assertThat(replies, contains(FilterReply.ACCEPT));
+        assertThat(MDC.get(SqlLogTurboFilter.MDC_KEY), nullValue());
+        assertThat(decide("org.hibernate.SQL", Level.DEBUG), equalTo(FilterReply.NEUTRAL));
+    }
+
+    @Test
+    void notSampledRequestShouldKeepSqlLoggingLevel() throws Exception {
+        List<FilterReply> replies = new ArrayList<>();
+        SqlLogSamplingFilter filter = new SqlLogSamplingFilter(0);
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (request, response) -> replies.add(decide("org.hibernate.type.descriptor.sql.BasicBinder",
+                        Level.TRACE)));
+
+        assertThat(replies, contains(FilterReply.NEUTRAL));
+    }
+
+    @Test
+    void decideShouldIgnoreOtherLoggers() {
+        MDC.put(SqlLogTurboFilter.MDC_KEY, "true");
+
+        try {
+            assertThat(decide("org.springframework.web", Level.DEBUG), equalTo(FilterReply.NEUTRAL));
+            assertThat(decide("org.hibernate.type.descriptor.sql.BasicBinder", Level.TRACE),
+                    equalTo(FilterReply.ACCEPT));
+        } finally {
+            MDC.remove(SqlLogTurboFilter.MDC_KEY);
+        }
+    }
+
+    private FilterReply decide(String loggerName, Level level) {
+        Logger logger = loggerContext.getLogger(loggerName);
+        return turboFilter.decide(null, logger, level, null, null, null);
+    }
+}
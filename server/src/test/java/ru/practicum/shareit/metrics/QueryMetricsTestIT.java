@@ -0,0 +1,60 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class QueryMetricsTestIT {
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void serviceCallShouldBeTimedWithRepositoryCalls() {
+        userService.createNewUser(UserRequestDto.builder()
+                .name("Дима")
+                .email("metrics@yandex.ru")
+                .build());
+
+        Timer service = meterRegistry.find(ServiceTimingAspect.METRIC_NAME)
+                .tag("service", "UserServiceImpl")
+                .tag("method", "createNewUser")
+                .tag("exception", "none")
+                .tag("uri", RequestEndpoint.NONE)
+                .timer();
+        Timer repository = meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "UserRepository")
+                .tag("method", "save")
+                .tag("uri", RequestEndpoint.NONE)
+                .timer();
+        assertThat(service, notNullValue());
+        assertThat(service.count(), greaterThanOrEqualTo(1L));
+        assertThat(repository, notNullValue());
+        assertThat(repository.count(), greaterThanOrEqualTo(1L));
+    }
+
+    @Test
+    void failedServiceCallShouldBeTaggedWithException() {
+        assertThrows(UserNotFoundException.class, () -> userService.getUserById(Long.MAX_VALUE));
+
+        Timer service = meterRegistry.find(ServiceTimingAspect.METRIC_NAME)
+                .tag("method", "getUserById")
+                .tag("exception", UserNotFoundException.class.getSimpleName())
+                .timer();
+        assertThat(service, notNullValue());
+        assertThat(service.count(), greaterThanOrEqualTo(1L));
+    }
+}
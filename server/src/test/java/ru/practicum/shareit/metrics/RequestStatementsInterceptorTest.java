@@ -0,0 +1,102 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+class RequestStatementsInterceptorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestStatementsInterceptor interceptor = new RequestStatementsInterceptor(meterRegistry);
+    private final StatementCounter statementCounter = new StatementCounter();
+
+    @Test
+    void afterCompletionShouldRecordStatementsOfRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        statementCounter.inspect("select * from items");
+        statementCounter.inspect("select * from comments");
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        DistributionSummary summary = meterRegistry.find(RequestStatementsInterceptor.METRIC_NAME)
+                .tag("method", "GET")
+                .tag("uri", "/items/{id}")
+                .summary();
+        assertThat(summary, notNullValue());
+        assertThat(summary.count(), equalTo(1L));
+        assertThat(summary.totalAmount(), equalTo(2.0));
+    }
+
+    @Test
+    @SneakyThrows
+    void asyncRequestShouldBeRecordedOnceWithStatementsOfAsyncTask() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/export");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/bookings/export");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        NativeWebRequest webRequest = new ServletWebRequest(request, response);
+        Callable<Void> task = () -> null;
+
+        interceptor.preHandle(request, response, new Object());
+        statementCounter.inspect("select * from users");
+        request.setAsyncStarted(true);
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+
+        Thread asyncThread = new Thread(() -> {
+            interceptor.preProcess(webRequest, task);
+            statementCounter.inspect("select * from bookings");
+            statementCounter.inspect("select * from bookings");
+            interceptor.postProcess(webRequest, task, null);
+        });
+        asyncThread.start();
+        asyncThread.join();
+        DistributionSummary recordedBeforeDispatch = meterRegistry.find(RequestStatementsInterceptor.METRIC_NAME)
+                .summary();
+
+        request.setAsyncStarted(false);
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        DistributionSummary summary = meterRegistry.find(RequestStatementsInterceptor.METRIC_NAME)
+                .tag("uri", "/bookings/export")
+                .summary();
+        assertThat(recordedBeforeDispatch, nullValue());
+        assertThat(summary, notNullValue());
+        assertThat(summary.count(), equalTo(1L));
+        assertThat(summary.totalAmount(), equalTo(3.0));
+    }
+
+    @Test
+    void inspectShouldNotCountStatementsOutsideOfRequest() {
+        statementCounter.inspect("select * from bookings");
+
+        assertThat(StatementCounter.stop(), equalTo(0));
+    }
+
+    @Test
+    void afterCompletionShouldTagUnmatchedRequestWithNone() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/unknown");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertThat(meterRegistry.find(RequestStatementsInterceptor.METRIC_NAME)
+                .tag("uri", RequestEndpoint.NONE)
+                .summary(), notNullValue());
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+    @Test
+    void encodeShouldProduceUrlSafeTokenThatDecodesBack() {
+        LocalDateTime date = LocalDateTime.of(2030, 1, 1, 12, 0, 5, 123000);
+        String token = KeysetCursor.of(date, 42L).encode();
+
+        KeysetCursor cursor = KeysetCursor.decode(token);
+
+        assertThat(token, matchesPattern("[A-Za-z0-9_-]+"));
+        assertThat(cursor.getDate(), equalTo(date));
+        assertThat(cursor.getId(), equalTo(42L));
+    }
+
+    @Test
+    void decodeShouldThrowBadRequestWhenTokenIsInvalid() {
+        assertThrows(ResponseStatusException.class, () -> KeysetCursor.decode("%%%"));
+        assertThrows(ResponseStatusException.class, () -> KeysetCursor.decode("bm90LWEtY3Vyc29y"));
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.plan;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class RecordingStatementInspector implements StatementInspector {
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    public static List<String> drain() {
+        List<String> statements = List.copyOf(STATEMENTS);
+        STATEMENTS.clear();
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.plan;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.RequestItemRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.booking.model.QBooking.booking;
+
+@Transactional
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {
+        "db.name=plans",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.plan.RecordingStatementInspector"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class RepositoryQueryPlanTestIT {
+    private static final int USERS = 1_000;
+    private static final int REQUESTS = 5_000;
+    private static final int ITEMS = 10_000;
+    private static final int BOOKINGS = 100_000;
+    private static final int COMMENTS = 50_000;
+    private static final String TABLE_SCAN = "tableScan";
+
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final RequestItemRepository requestItemRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeAll
+    void seed() {
+        Timestamp past = Timestamp.valueOf(now.minusDays(30));
+
+        insert("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", USERS,
+                id -> new Object[]{id, "Дима " + id, "dima" + id + "@yandex.ru"});
+        insert("INSERT INTO item_request (id, description, requestor_id, creation_date) VALUES (?, ?, ?, ?)",
+                REQUESTS, id -> new Object[]{id, "Нужны грабли " + id, user(id), past});
+        insert("INSERT INTO items (id, name, description, available, owner_id, request_id) VALUES (?, ?, ?, ?, ?, ?)",
+                ITEMS, id -> new Object[]{id, "Грабли " + id, "Грабли для уборки листвы", id % 2 == 0, user(id),
+                        id % 4 == 0 ? id % REQUESTS + 1 : null});
+        insert("INSERT INTO bookings (id, start_date, end_date, booker_id, item_id, owner_id, status) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)", BOOKINGS,
+                id -> new Object[]{id, Timestamp.valueOf(now.plusHours(id - BOOKINGS / 2)),
+                        Timestamp.valueOf(now.plusHours(id - BOOKINGS / 2 + 1)), user(id + 1), id % ITEMS + 1,
+                        user(id % ITEMS + 1), BookingStatus.values()[(int) (id % BookingStatus.values().length)].name()});
+        insert("INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)", COMMENTS,
+                id -> new Object[]{id, "Отличные грабли " + id, id % ITEMS + 1, user(id + 1),
+                        Timestamp.valueOf(now.minusMinutes(id))});
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        RecordingStatementInspector.drain();
+    }
+
+    @Test
+    void bookingQueriesShouldUseIndexes() {
+        List<Long> itemIds = List.of(1L, 2L, 3L);
+        LocalDateTime after = now.plusDays(1);
+
+        bookingRepository.findBooking(1L, 2L);
+        bookingRepository.findBookingByOwner(1L, 2L);
+        bookingRepository.findAllBookingsByOwner(itemIds, 2L);
+        bookingRepository.findAllByStatusAndStartDateBeforeOrderById(BookingStatus.WAITING, now,
+                PageRequest.of(0, 500));
+        bookingRepository.findLastAndNextBookingsByItemIdIn(itemIds, now);
+        bookingRepository.findCompletedBookings(2L, 1L, now, PageRequest.of(0, 1));
+        bookingRepository.findAllWithItemAndBooker(booking.booker.id.eq(2L).and(booking.startDate.after(now)),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "startDate")));
+        bookingRepository.findAllWithItemAndBooker(booking.owner.id.eq(2L).and(booking.status.eq(BookingStatus.WAITING)),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "startDate")));
+        bookingRepository.findAllNewestFirst(booking.booker.id.eq(2L)
+                .and(booking.startDate.lt(after).or(booking.startDate.eq(after).and(booking.id.lt(10L)))), 20);
+        bookingRepository.streamNewestFirst(booking.owner.id.eq(2L), 100).close();
+        bookingRepository.countMatching(booking.owner.id.eq(2L), List.of(booking.status.eq(BookingStatus.WAITING),
+                booking.startDate.after(now)));
+
+        assertNoTableScans(RecordingStatementInspector.drain());
+    }
+
+    @Test
+    void itemQueriesShouldUseIndexes() {
+        itemRepository.findAllByOwnerId(2L, PageRequest.of(0, 20));
+        itemRepository.findAllById(List.of(1L, 2L, 3L));
+
+        assertNoTableScans(RecordingStatementInspector.drain());
+    }
+
+    @Test
+    void commentQueriesShouldUseIndexes() {
+        List<Long> itemIds = List.of(1L, 2L, 3L);
+
+        commentRepository.searchByText(1L, "грабли", PageRequest.of(0, 20));
+        commentRepository.findLatestByItemId(1L, PageRequest.of(0, 20));
+        commentRepository.findLatestByItemIdBefore(1L, now, 10L, PageRequest.of(0, 20));
+        commentRepository.findLatestPreviewsByItemIdIn(itemIds, 10);
+        commentRepository.countByItemId(1L);
+        commentRepository.countByItemIdIn(itemIds);
+
+        assertNoTableScans(RecordingStatementInspector.drain());
+    }
+
+    @Test
+    void requestQueriesShouldUseIndexes() {
+        requestItemRepository.findAllByRequestorId(2L);
+        itemRepository.findAllShortByRequestIdIn(List.of(4L, 8L, 12L));
+
+        assertNoTableScans(RecordingStatementInspector.drain());
+    }
+
+    private void assertNoTableScans(List<String> statements) {
+        assertThat(statements, not(empty()));
+
+        Map<String, String> plans = statements.stream()
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(), this::explain));
+
+        plans.forEach((sql, plan) -> assertThat(sql, plan, not(containsString(TABLE_SCAN))));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1));
+                    }
+
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    private void insert(String sql, int count, Function<Long, Object[]> row) {
+        List<Object[]> rows = new ArrayList<>(count);
+        LongStream.rangeClosed(1, count).forEach(id -> rows.add(row.apply(id)));
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+
+    private static long user(long id) {
+        return id % USERS + 1;
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.request.dto.RequestItemRequestDto;
 import ru.practicum.shareit.request.model.RequestItem;
 import ru.practicum.shareit.user.model.User;
 
@@ -47,14 +49,14 @@ class RequestItemRepositoryTest {
 
         RequestItem requestOne = getRequest(userOne);
         testEntityManager.persist(requestOne);
+        testEntityManager.persist(getRequest(userTwo));
 
-        List<RequestItem> requests = requestItemRepository.findAllByRequestorId(userOne.getId());
+        List<RequestItemRequestDto> requests = requestItemRepository.findAllByRequestorId(userOne.getId());
 
         assertThat(requests, hasSize(1));
         assertThat(requests, hasItem(allOf(
                 hasProperty("description", containsString("Грабли для уборки листвы")),
                 hasProperty("id", equalTo(requestOne.getId())),
-                hasProperty("requestor", equalTo(userOne)),
                 hasProperty("created", notNullValue())
         )));
     }
@@ -71,13 +73,13 @@ class RequestItemRepositoryTest {
         testEntityManager.persist(requestOne);
         Long incorrectId = 1000L;
 
-        List<RequestItem> requests = requestItemRepository.findAllByRequestorId(incorrectId);
+        List<RequestItemRequestDto> requests = requestItemRepository.findAllByRequestorId(incorrectId);
 
         assertThat(requests, empty());
     }
 
     @Test
-    void findAllPagedShouldReturnRequestsWhenUserIsNotRequestor() {
+    void findAllOfOtherUsersShouldReturnPagedRequestsWhenUserIsNotRequestor() {
         User userOne = getUser("dima@yandex.ru");
         User userTwo = getUser("fima@yandex.ru");
 
@@ -85,22 +87,47 @@ class RequestItemRepositoryTest {
         testEntityManager.persist(userTwo);
 
         RequestItem requestOne = getRequest(userOne);
+        RequestItem requestTwo = getRequest(userOne);
+        requestTwo.setCreated(requestOne.getCreated().plusMinutes(1));
         testEntityManager.persist(requestOne);
-        Pageable page = PageRequest.of(0, 10);
+        testEntityManager.persist(requestTwo);
+        Pageable page = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "created"));
 
-        List<RequestItem> requestsTwo = requestItemRepository.findAllPaged(page, userTwo.getId()).getContent();
+        List<RequestItemRequestDto> requests = requestItemRepository.findAllOfOtherUsers(userTwo.getId(), page);
 
-        assertThat(requestsTwo, hasSize(1));
-        assertThat(requestsTwo, hasItem(allOf(
-                hasProperty("description", containsString("Грабли для уборки листвы")),
-                hasProperty("id", equalTo(requestOne.getId())),
-                hasProperty("requestor", equalTo(userOne)),
+        assertThat(requests, contains(allOf(
+                hasProperty("id", equalTo(requestTwo.getId())),
+                hasProperty("description", equalTo("Грабли для уборки листвы")),
                 hasProperty("created", notNullValue())
         )));
     }
 
     @Test
-    void findAllPagedShouldReturnEmptyListWhenUserIsRequestor() {
+    void findAllOfOtherUsersShouldOrderRequestsCreatedAtSameTimeById() {
+        User userOne = getUser("dima@yandex.ru");
+        User userTwo = getUser("fima@yandex.ru");
+
+        testEntityManager.persist(userOne);
+        testEntityManager.persist(userTwo);
+
+        RequestItem requestOne = getRequest(userOne);
+        RequestItem requestTwo = getRequest(userOne);
+        requestTwo.setCreated(requestOne.getCreated());
+        testEntityManager.persist(requestOne);
+        testEntityManager.persist(requestTwo);
+        Sort sort = Sort.by(Sort.Direction.DESC, "created", "id");
+
+        List<RequestItemRequestDto> firstPage = requestItemRepository.findAllOfOtherUsers(userTwo.getId(),
+                PageRequest.of(0, 1, sort));
+        List<RequestItemRequestDto> secondPage = requestItemRepository.findAllOfOtherUsers(userTwo.getId(),
+                PageRequest.of(1, 1, sort));
+
+        assertThat(firstPage, contains(hasProperty("id", equalTo(requestTwo.getId()))));
+        assertThat(secondPage, contains(hasProperty("id", equalTo(requestOne.getId()))));
+    }
+
+    @Test
+    void findAllOfOtherUsersShouldReturnEmptyListWhenUserIsRequestor() {
         User userOne = getUser("dima@yandex.ru");
         User userTwo = getUser("fima@yandex.ru");
 
@@ -111,8 +138,8 @@ class RequestItemRepositoryTest {
         testEntityManager.persist(requestOne);
         Pageable page = PageRequest.of(0, 10);
 
-        List<RequestItem> requests = requestItemRepository.findAllPaged(page, userOne.getId()).getContent();
+        List<RequestItemRequestDto> requests = requestItemRepository.findAllOfOtherUsers(userOne.getId(), page);
 
         assertThat(requests, empty());
     }
-}
\ No newline at end of file
+}
@@ -9,10 +9,12 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.exception.RequestNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.RequestItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestItemResponseDto;
 import ru.practicum.shareit.request.mapper.RequestItemMapper;
@@ -22,6 +24,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +41,8 @@ class RequestItemServiceImplTest {
     private RequestItemRepository requestItemRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ItemRepository itemRepository;
     @InjectMocks
     private RequestItemServiceImpl requestItemService;
     private RequestItemRequestDto requestItemRequestDto;
@@ -108,26 +113,51 @@ class RequestItemServiceImplTest {
 
     @Test
     void getAllRequestsShouldReturnRequestList() {
-        RequestItem requestItem = RequestItemMapper.requestItemRequestDtoToRequestItem(requestItemRequestDto, requestor);
-        Page<RequestItem> page = new PageImpl<>(List.of(requestItem));
+        ItemShortResponseDto item = ItemShortResponseDto.builder()
+                .id(5L)
+                .name("Грабли")
+                .description("Веерные грабли")
+                .available(true)
+                .requestId(1L)
+                .build();
 
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        when(requestItemRepository.findAllPaged(any(), anyLong()))
-                .thenReturn(page);
+        when(requestItemRepository.findAllOfOtherUsers(anyLong(), any()))
+                .thenReturn(List.of(requestItemRequestDto));
+        when(itemRepository.findAllShortByRequestIdIn(List.of(1L)))
+                .thenReturn(List.of(item));
         List<RequestItemResponseDto> requestItemResponseDtoList =
                 requestItemService.getAllRequestsByUserId(1L, 0, 10);
 
-        assertThat(requestItemResponseDtoList, hasSize(requestItemResponseDtoList.size()));
+        assertThat(requestItemResponseDtoList, hasSize(1));
         assertThat(requestItemResponseDtoList, hasItem(allOf(
+                hasProperty("id", equalTo(1L)),
                 hasProperty("description", equalTo("Грабли для уборки листвы")),
-                hasProperty("created", notNullValue())
+                hasProperty("created", notNullValue()),
+                hasProperty("items", contains(hasProperty("id", equalTo(5L))))
         )));
         assertThat(requestItemResponseDtoList, instanceOf(List.class));
 
         verify(userRepository, Mockito.times(1)).existsById(anyLong());
-        verify(requestItemRepository, Mockito.times(1)).findAllPaged(any(), anyLong());
-        verifyNoMoreInteractions(userRepository, requestItemRepository);
+        verify(requestItemRepository, Mockito.times(1)).findAllOfOtherUsers(1L,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created", "id")));
+        verify(itemRepository, Mockito.times(1)).findAllShortByRequestIdIn(List.of(1L));
+        verifyNoMoreInteractions(userRepository, requestItemRepository, itemRepository);
+    }
+
+    @Test
+    void getAllRequestsShouldNotLoadItemsWhenPageIsEmpty() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(requestItemRepository.findAllOfOtherUsers(anyLong(), any()))
+                .thenReturn(List.of());
+
+        List<RequestItemResponseDto> requestItemResponseDtoList =
+                requestItemService.getAllRequestsByUserId(1L, 0, 10);
+
+        assertThat(requestItemResponseDtoList, empty());
+        verifyNoInteractions(itemRepository);
     }
 
     @Test
@@ -142,25 +172,49 @@ class RequestItemServiceImplTest {
 
     @Test
     void getRequestsShouldReturnRequestsList() {
-        RequestItem requestItem = RequestItemMapper.requestItemRequestDtoToRequestItem(requestItemRequestDto, requestor);
+        ItemShortResponseDto item = ItemShortResponseDto.builder()
+                .id(5L)
+                .name("Грабли")
+                .description("Веерные грабли")
+                .available(true)
+                .requestId(1L)
+                .build();
 
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
         when(requestItemRepository.findAllByRequestorId(anyLong()))
-                .thenReturn(List.of(requestItem));
+                .thenReturn(List.of(requestItemRequestDto));
+        when(itemRepository.findAllShortByRequestIdIn(anyList()))
+                .thenReturn(List.of(item));
         List<RequestItemResponseDto> requestItemResponseDtoList = requestItemService.getAllRequestsByUserId(1L);
 
-        assertThat(requestItemResponseDtoList, hasSize(requestItemResponseDtoList.size()));
+        assertThat(requestItemResponseDtoList, hasSize(1));
         assertThat(requestItemResponseDtoList, hasItem(allOf(
+                hasProperty("id", equalTo(1L)),
                 hasProperty("description", equalTo("Грабли для уборки листвы")),
-                hasProperty("created", notNullValue())
+                hasProperty("created", notNullValue()),
+                hasProperty("items", contains(hasProperty("id", equalTo(5L))))
         )));
         assertThat(requestItemResponseDtoList, instanceOf(List.class));
 
         verify(userRepository, Mockito.times(1)).existsById(anyLong());
         verify(requestItemRepository, Mockito.times(1)).findAllByRequestorId(1L);
-        verifyNoMoreInteractions(userRepository, requestItemRepository);
+        verify(itemRepository, Mockito.times(1)).findAllShortByRequestIdIn(List.of(1L));
+        verifyNoMoreInteractions(userRepository, requestItemRepository, itemRepository);
+    }
+
+    @Test
+    void getRequestsShouldNotLoadItemsWhenRequestsNotFound() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+
+        when(requestItemRepository.findAllByRequestorId(anyLong()))
+                .thenReturn(Collections.emptyList());
+
+        assertThat(requestItemService.getAllRequestsByUserId(1L), empty());
+
+        verifyNoInteractions(itemRepository);
     }
 
     @Test
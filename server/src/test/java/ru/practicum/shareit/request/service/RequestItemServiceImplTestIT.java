@@ -1,17 +1,23 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.RequestItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestItemResponseDto;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -24,6 +30,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 class RequestItemServiceImplTestIT {
     private final RequestItemService requestItemService;
     private final UserService userService;
+    private final ItemService itemService;
+    private final EntityManager entityManager;
 
     private static UserRequestDto getUserDto(String email) {
         return UserRequestDto.builder()
@@ -129,4 +137,39 @@ class RequestItemServiceImplTestIT {
 
         assertThat(userNotFoundException.getMessage(), equalTo(String.format("Пользователь с id: %s не обнаружен", 2L)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllRequestsByUserIdWithPageShouldLoadPageInConstantNumberOfStatements() {
+        UserRequestDto requestor = userService.createNewUser(getUserDto("dima@yandex.ru"));
+        UserRequestDto owner = userService.createNewUser(getUserDto("fima@yandex.ru"));
+        List<Long> requestIds = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            RequestItemRequestDto request = requestItemService.createNewRequest(getRequestDto(), requestor.getId());
+            requestIds.add(request.getId());
+
+            for (int j = 0; j < 2; j++) {
+                itemService.createNewItem(ItemRequestDto.builder()
+                        .name("Грабли")
+                        .description("Грабли для уборки листвы")
+                        .available(true)
+                        .requestId(request.getId())
+                        .build(), owner.getId());
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<RequestItemResponseDto> result = requestItemService.getAllRequestsByUserId(owner.getId(), 0, 2);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(3L));
+        assertThat(result, hasSize(2));
+        assertThat(result.get(0).getId(), equalTo(requestIds.get(2)));
+        assertThat(result.get(1).getId(), equalTo(requestIds.get(1)));
+        assertThat(result.get(0).getItems(), hasSize(2));
+        assertThat(result.get(1).getItems(), hasSize(2));
+    }
+}
@@ -80,7 +80,7 @@ class UserRepositoryTest {
         User userTwo = getUser("dima@yandex.ru");
 
         assertThrows(org.springframework.dao.DataIntegrityViolationException.class, ()
-                -> userRepository.save(userTwo));
+                -> userRepository.saveAndFlush(userTwo));
     }
 
     @Test
@@ -7,10 +7,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +27,10 @@ import static org.mockito.Mockito.*;
 class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private Cache entityCache;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -123,9 +130,12 @@ class UserServiceImplTest {
 
     @Test
     void deleteUserShouldDeleteUser() {
+        when(entityManagerFactory.getCache()).thenReturn(entityCache);
+
         userService.deleteUserById(1L);
 
         verify(userRepository, times(1)).deleteById(anyLong());
+        verify(entityCache, times(1)).evict(Item.class);
         verifyNoMoreInteractions(userRepository);
     }
 
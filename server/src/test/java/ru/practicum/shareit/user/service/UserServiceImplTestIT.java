@@ -0,0 +1,73 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class UserServiceImplTestIT {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private static UserRequestDto getUserDto(String email) {
+        return UserRequestDto.builder()
+                .name("Дима")
+                .email(email)
+                .build();
+    }
+
+    private static ItemRequestDto getItemDto() {
+        return ItemRequestDto.builder()
+                .name("Грабли")
+                .description("Грабли для уборки листвы")
+                .available(true)
+                .build();
+    }
+
+    @Test
+    void getUserByIdShouldBeServedFromEntityCacheAndSeeUpdates() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UserRequestDto user = userService.createNewUser(getUserDto("cache@yandex.ru"));
+        userService.getUserById(user.getId());
+        statistics.clear();
+
+        userService.getUserById(user.getId());
+        userService.getUserById(user.getId());
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+        assertThat(statistics.getSecondLevelCacheHitCount(), equalTo(2L));
+
+        userService.updateUserById(UserRequestDto.builder().name("Фима").build(), user.getId());
+
+        assertThat(userService.getUserById(user.getId()).getName(), equalTo("Фима"));
+        userService.deleteUserById(user.getId());
+    }
+
+    @Test
+    void deleteUserByIdShouldEvictCachedItemsOfOwner() {
+        UserRequestDto owner = userService.createNewUser(getUserDto("owner-cache@yandex.ru"));
+        ItemShortResponseDto item = itemService.createNewItem(getItemDto(), owner.getId());
+        assertThat(itemRepository.findById(item.getId()).isPresent(), is(true));
+
+        userService.deleteUserById(owner.getId());
+
+        assertThat(itemRepository.findById(item.getId()).isPresent(), is(false));
+    }
+}